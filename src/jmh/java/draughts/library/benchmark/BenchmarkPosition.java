@@ -0,0 +1,60 @@
+package draughts.library.benchmark;
+
+import draughts.library.managers.BoardManager;
+
+public enum BenchmarkPosition {
+
+	OPENING(true) {
+		void placePieces(BoardManager boardManager) {
+			boardManager.createPiecesForStartingPosition();
+		}
+	},
+	MIDDLEGAME(true) {
+		void placePieces(BoardManager boardManager) {
+			for(int index : new int[] {27, 28, 30, 31, 32, 33, 34, 35, 36, 38, 39, 40, 42, 43, 47})
+				boardManager.addWhitePawn(index);
+			for(int index : new int[] {3, 6, 7, 8, 9, 11, 12, 13, 14, 16, 17, 18, 19, 20, 24})
+				boardManager.addBlackPawn(index);
+		}
+	},
+	MULTI_CAPTURE(true) {
+		void placePieces(BoardManager boardManager) {
+			boardManager.addWhiteQueen(50);
+			boardManager.addWhitePawn(46);
+			boardManager.addWhitePawn(49);
+			boardManager.addWhitePawn(43);
+			for(int index : new int[] {8, 9, 10, 11, 19, 20, 28, 30, 38, 41})
+				boardManager.addBlackPawn(index);
+		}
+	},
+	QUEEN_ENDGAME(false) {
+		void placePieces(BoardManager boardManager) {
+			boardManager.addWhiteQueen(46);
+			boardManager.addWhiteQueen(3);
+			boardManager.addWhitePawn(33);
+			boardManager.addBlackQueen(5);
+			boardManager.addBlackPawn(14);
+			boardManager.addBlackPawn(19);
+		}
+	};
+
+	private final boolean isWhiteToMove;
+
+	BenchmarkPosition(boolean isWhiteToMove) {
+		this.isWhiteToMove = isWhiteToMove;
+	}
+
+	abstract void placePieces(BoardManager boardManager);
+
+	public boolean getIsWhiteToMove() {
+		return isWhiteToMove;
+	}
+
+	public BoardManager createBoard() {
+		BoardManager boardManager = new BoardManager();
+		boardManager.createEmptyBoard();
+		placePieces(boardManager);
+		return boardManager;
+	}
+
+}
@@ -0,0 +1,57 @@
+package draughts.library.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import draughts.library.managers.GameEngine;
+import draughts.library.movemodel.Hop;
+import draughts.library.movemodel.Move;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GameFlowBenchmark {
+
+	@Param({"OPENING", "MIDDLEGAME", "MULTI_CAPTURE", "QUEEN_ENDGAME"})
+	BenchmarkPosition position;
+
+	GameEngine gameEngine;
+	Move<? extends Hop> move;
+	boolean isWhiteToMove;
+	long drawArbiterState;
+
+	@Setup
+	public void setUp() {
+		gameEngine = new GameEngine();
+		gameEngine.getBoardManager().createEmptyBoard();
+		position.placePieces(gameEngine.getBoardManager());
+		isWhiteToMove = position.getIsWhiteToMove();
+		gameEngine.setIsWhiteToMove(isWhiteToMove);
+		gameEngine.setGameState(GameEngine.GameState.RUNNING);
+
+		move = gameEngine.getMoveManager().findAllCorrectMoves(gameEngine.getBoardManager(), isWhiteToMove).get(0);
+		gameEngine.getBoardManager().makeWholeMove(move);
+		drawArbiterState = gameEngine.getDrawArbiter().getState();
+	}
+
+	@Benchmark
+	public GameEngine.GameState finishMove() {
+		gameEngine.finishMove(move);
+		GameEngine.GameState gameState = gameEngine.getGameState();
+
+		//finishing a move is not reversible, so the fields it touches are reset by hand
+		gameEngine.setIsWhiteToMove(isWhiteToMove);
+		gameEngine.setGameState(GameEngine.GameState.RUNNING);
+		gameEngine.getDrawArbiter().setState(drawArbiterState); //also drops the position added to the history
+		return gameState;
+	}
+
+}
@@ -0,0 +1,71 @@
+package draughts.library.benchmark;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import draughts.library.boardmodel.Piece;
+import draughts.library.managers.BoardManager;
+import draughts.library.managers.MoveManager;
+import draughts.library.movemodel.Capture;
+import draughts.library.movemodel.Hop;
+import draughts.library.movemodel.Move;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MoveGenerationBenchmark {
+
+	@Param({"OPENING", "MIDDLEGAME", "MULTI_CAPTURE", "QUEEN_ENDGAME"})
+	BenchmarkPosition position;
+
+	BoardManager boardManager;
+	boolean isWhiteToMove;
+	Move<? extends Hop> move;
+
+	@Setup
+	public void setUp() {
+		boardManager = position.createBoard();
+		isWhiteToMove = position.getIsWhiteToMove();
+		move = new MoveManager().findAllCorrectMoves(boardManager, isWhiteToMove).get(0);
+	}
+
+	@Benchmark
+	public ArrayList<Move<Capture>> findCapturesForAllPieces() {
+		return boardManager.findCapturesForAllPieces(isWhiteToMove);
+	}
+
+	@Benchmark
+	public ArrayList<Move<Hop>> findMovesForAllPieces() {
+		return boardManager.findMovesForAllPieces(isWhiteToMove);
+	}
+
+	@Benchmark
+	public void findLongestConsecutiveCaptures(Blackhole blackhole) {
+		ArrayList<Piece> pieces = isWhiteToMove ? boardManager.getWhitePieces() : boardManager.getBlackPieces();
+		for(int i=0; i<pieces.size(); i++) {
+			blackhole.consume(boardManager.findLongestConsecutiveCaptures(pieces.get(i)));
+		}
+	}
+
+	@Benchmark
+	public boolean isAnyMovePossible() {
+		return boardManager.isAnyMovePossible(isWhiteToMove);
+	}
+
+	@Benchmark
+	public void makeAndReverseWholeMove() {
+		boardManager.makeWholeMove(move);
+		boardManager.reverseWholeMove(move);
+	}
+
+}
@@ -0,0 +1,60 @@
+package draughts.library.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import draughts.library.engine.ParallelSearch;
+import draughts.library.engine.TranspositionTable;
+import draughts.library.managers.BoardManager;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ParallelSearchBenchmark {
+
+	@Param({"OPENING", "MIDDLEGAME"})
+	BenchmarkPosition position;
+
+	@Param({"1", "2", "4", "8", "16", "32"})
+	int threads;
+
+	@Param({"7"})
+	int depth;
+
+	BoardManager boardManager;
+	ParallelSearch parallelSearch;
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Nodes {
+		public long nodes; //nodes per second of all threads together, compare across thread counts for scaling
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			nodes = 0;
+		}
+	}
+
+	@Setup
+	public void setUp() {
+		boardManager = position.createBoard();
+		parallelSearch = new ParallelSearch(new TranspositionTable(64), threads);
+	}
+
+	@Benchmark
+	public void search(Nodes counter) {
+		parallelSearch.getTranspositionTable().clear(); //every search starts cold, like a new game position
+		counter.nodes += parallelSearch.search(boardManager, position.getIsWhiteToMove(), depth).getNodes();
+	}
+
+}
@@ -0,0 +1,74 @@
+package draughts.library.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import draughts.library.managers.BoardManager;
+import draughts.library.managers.Perft;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PerftBenchmark {
+
+	//published counts from the starting position, too slow for unit tests so they are checked before each opening trial
+	private static final long[] STARTING_POSITION_NODES = {1, 9, 81, 658, 4265, 27117, 167140, 1049442, 6483961, 41022423};
+	private static final int CHECKED_DEPTH = 7; //for the slower perft over BoardManager, bitboards are checked to the end
+
+	@Param({"OPENING", "MIDDLEGAME", "QUEEN_ENDGAME"})
+	BenchmarkPosition position;
+
+	@Param({"4"})
+	int depth;
+
+	BoardManager boardManager;
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Nodes {
+		public long nodes; //reported by JMH as nodes per second
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			nodes = 0;
+		}
+	}
+
+	@Setup
+	public void setUp() {
+		boardManager = position.createBoard();
+		if(position == BenchmarkPosition.OPENING) checkStartingPositionCounts();
+	}
+
+	private void checkStartingPositionCounts() {
+		for(int depth=0; depth<STARTING_POSITION_NODES.length; depth++) {
+			long bitboardNodes = new Perft().countNodes(boardManager.getBitboards(), true, depth);
+			long nodes = depth <= CHECKED_DEPTH ? new Perft().countNodes(boardManager, true, depth) : bitboardNodes;
+			if(bitboardNodes != STARTING_POSITION_NODES[depth] || nodes != STARTING_POSITION_NODES[depth])
+				throw new IllegalStateException("Perft " + depth + " from the starting position gives " + nodes + " and " +
+						bitboardNodes + " nodes instead of " + STARTING_POSITION_NODES[depth]);
+		}
+	}
+
+	@Benchmark
+	public void perft(Nodes counter) {
+		counter.nodes += new Perft().countNodes(boardManager, position.getIsWhiteToMove(), depth);
+	}
+
+	@Benchmark
+	public void perftInParallel(Nodes counter) {
+		counter.nodes += new Perft().countNodesInParallel(boardManager, position.getIsWhiteToMove(), depth,
+				Runtime.getRuntime().availableProcessors());
+	}
+
+}
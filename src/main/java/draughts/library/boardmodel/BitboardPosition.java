@@ -0,0 +1,249 @@
+package draughts.library.boardmodel;
+
+import java.util.Objects;
+
+import draughts.library.movemodel.PackedMove;
+
+public class BitboardPosition {
+
+	//bit n of every mask stands for tile with index n, bit 0 is never used
+	public static final long PLAYABLE_TILES = ((1L << (Board.PLAYABLE_TILES + 1)) - 1) & ~1L;
+
+	//index difference to the neighbour in every direction (MoveDirection ordinal) alternates with row parity,
+	//so each direction has two shifts, each with the mask of tiles it applies to
+	private static final int[][] NEIGHBOUR_SHIFTS = new int[Board.NUMBER_OF_DIRECTIONS][2];
+	private static final long[][] STEP_SOURCES = new long[Board.NUMBER_OF_DIRECTIONS][2];
+	private static final long[][] JUMP_SOURCES = new long[Board.NUMBER_OF_DIRECTIONS][2]; //jump landing is on the board too
+	private static final int[] JUMP_SHIFTS = new int[Board.NUMBER_OF_DIRECTIONS]; //landing is always the same distance away
+	private static final Piece.MoveDirection[] WHITE_PAWN_DIRECTIONS = {Piece.MoveDirection.UP_LEFT, Piece.MoveDirection.UP_RIGHT};
+	private static final Piece.MoveDirection[] BLACK_PAWN_DIRECTIONS = {Piece.MoveDirection.DOWN_LEFT, Piece.MoveDirection.DOWN_RIGHT};
+
+	static {
+		for(Piece.MoveDirection moveDirection : Piece.MoveDirection.values()) {
+			int direction = moveDirection.ordinal();
+			for(int index=1; index<=Board.PLAYABLE_TILES; index++) {
+				int neighbour = Board.getNeighbour(index, moveDirection);
+				if(neighbour == 0) continue;
+				int shift = neighbour - index;
+				int slot = NEIGHBOUR_SHIFTS[direction][0] == 0 || NEIGHBOUR_SHIFTS[direction][0] == shift ? 0 : 1;
+				NEIGHBOUR_SHIFTS[direction][slot] = shift;
+				STEP_SOURCES[direction][slot] |= tileMask(index);
+				int landing = Board.getJumpLanding(index, moveDirection);
+				if(landing == 0) continue;
+				JUMP_SOURCES[direction][slot] |= tileMask(index);
+				JUMP_SHIFTS[direction] = landing - index;
+			}
+		}
+	}
+
+	private long whitePawns;
+	private long blackPawns;
+	private long whiteQueens;
+	private long blackQueens;
+	private long hash; //Zobrist hash of the pieces, updated with every change
+	private int evaluation; //sum of piece-square values from white's point of view, updated with every change
+
+	public BitboardPosition() {
+	}
+
+	public BitboardPosition(BitboardPosition bitboardPosition) {
+		copyFrom(bitboardPosition);
+	}
+	
+	public void copyFrom(BitboardPosition bitboardPosition) {
+		this.whitePawns = bitboardPosition.whitePawns;
+		this.blackPawns = bitboardPosition.blackPawns;
+		this.whiteQueens = bitboardPosition.whiteQueens;
+		this.blackQueens = bitboardPosition.blackQueens;
+		this.hash = bitboardPosition.hash;
+		this.evaluation = bitboardPosition.evaluation;
+	}
+
+	public static long tileMask(int index) {
+		return 1L << index;
+	}
+
+	public long getWhitePawns() {
+		return whitePawns;
+	}
+
+	public long getBlackPawns() {
+		return blackPawns;
+	}
+
+	public long getWhiteQueens() {
+		return whiteQueens;
+	}
+
+	public long getBlackQueens() {
+		return blackQueens;
+	}
+
+	public long getHash() {
+		return hash;
+	}
+
+	public int getEvaluation() {
+		return evaluation;
+	}
+
+	public long getWhitePieces() {
+		return whitePawns | whiteQueens;
+	}
+
+	public long getBlackPieces() {
+		return blackPawns | blackQueens;
+	}
+
+	public long getOccupiedTiles() {
+		return whitePawns | blackPawns | whiteQueens | blackQueens;
+	}
+
+	public long getEmptyTiles() {
+		return PLAYABLE_TILES & ~getOccupiedTiles();
+	}
+
+	public boolean isTileEmpty(int index) {
+		return (getOccupiedTiles() & tileMask(index)) == 0;
+	}
+
+	public int getNumberOfWhitePieces() {
+		return Long.bitCount(getWhitePieces());
+	}
+
+	public int getNumberOfBlackPieces() {
+		return Long.bitCount(getBlackPieces());
+	}
+
+	public Tile.State getState(int index) {
+		long mask = tileMask(index);
+		if((whitePawns & mask) != 0) return Tile.State.WHITE_PAWN;
+		if((blackPawns & mask) != 0) return Tile.State.BLACK_PAWN;
+		if((whiteQueens & mask) != 0) return Tile.State.WHITE_QUEEN;
+		if((blackQueens & mask) != 0) return Tile.State.BLACK_QUEEN;
+		return Tile.State.EMPTY;
+	}
+
+	public void addPiece(int index, Tile.State state) {
+		long mask = tileMask(index);
+		switch(state) {
+			case WHITE_PAWN: whitePawns |= mask;
+			break;
+			case BLACK_PAWN: blackPawns |= mask;
+			break;
+			case WHITE_QUEEN: whiteQueens |= mask;
+			break;
+			case BLACK_QUEEN: blackQueens |= mask;
+			break;
+			default: return;
+		}
+		hash ^= Zobrist.getKey(state, index);
+		evaluation += PieceSquareTable.getValue(state, index);
+	}
+
+	public void removePiece(int index) {
+		Tile.State state = getState(index);
+		hash ^= Zobrist.getKey(state, index);
+		evaluation -= PieceSquareTable.getValue(state, index);
+		long mask = ~tileMask(index);
+		whitePawns &= mask;
+		blackPawns &= mask;
+		whiteQueens &= mask;
+		blackQueens &= mask;
+	}
+
+	public void movePiece(int source, int destination) {
+		Tile.State state = getState(source);
+		removePiece(source);
+		addPiece(destination, state);
+	}
+
+	public void makeMove(long packedMove) {
+		int source = PackedMove.getSource(packedMove);
+		Tile.State state = getState(source);
+		
+		removePiece(source);
+		for(long taken = PackedMove.getTakenTiles(packedMove); taken != 0; taken &= taken - 1) {
+			removePiece(Long.numberOfTrailingZeros(taken));
+		}
+		
+		if(PackedMove.isPromotion(packedMove)) 
+			state = state == Tile.State.WHITE_PAWN ? Tile.State.WHITE_QUEEN : Tile.State.BLACK_QUEEN;
+		addPiece(PackedMove.getDestination(packedMove), state);
+	}
+
+	//a side can move if any piece can step or jump over an adjacent piece, queens need no other check:
+	//a queen capturing from a distance has an empty neighbour in that direction, so it can step there
+	public boolean isAnyMovePossible(boolean isWhiteToMove) {
+		long pawns = isWhiteToMove ? whitePawns : blackPawns;
+		long queens = isWhiteToMove ? whiteQueens : blackQueens;
+		long oppositePieces = isWhiteToMove ? getBlackPieces() : getWhitePieces();
+		long emptyTiles = getEmptyTiles();
+
+		for(Piece.MoveDirection moveDirection : isWhiteToMove ? WHITE_PAWN_DIRECTIONS : BLACK_PAWN_DIRECTIONS) {
+			if(canStep(pawns, moveDirection.ordinal(), emptyTiles)) return true;
+		}
+		long pieces = pawns | queens;
+		for(int direction=0; direction<Board.NUMBER_OF_DIRECTIONS; direction++) {
+			if(queens != 0 && canStep(queens, direction, emptyTiles)) return true;
+			if(canJump(pieces, direction, oppositePieces, emptyTiles)) return true;
+		}
+		return false;
+	}
+
+	private static boolean canStep(long pieces, int direction, long emptyTiles) {
+		for(int slot=0; slot<2; slot++) {
+			if((shift(pieces & STEP_SOURCES[direction][slot], NEIGHBOUR_SHIFTS[direction][slot]) & emptyTiles) != 0) return true;
+		}
+		return false;
+	}
+
+	private static boolean canJump(long pieces, int direction, long oppositePieces, long emptyTiles) {
+		for(int slot=0; slot<2; slot++) {
+			int neighbourShift = NEIGHBOUR_SHIFTS[direction][slot];
+			long jumpedPieces = shift(pieces & JUMP_SOURCES[direction][slot], neighbourShift) & oppositePieces;
+			if((shift(jumpedPieces, JUMP_SHIFTS[direction] - neighbourShift) & emptyTiles) != 0) return true;
+		}
+		return false;
+	}
+
+	private static long shift(long mask, int shift) {
+		return shift > 0 ? mask << shift : mask >>> -shift;
+	}
+
+	public void clear() {
+		whitePawns = 0;
+		blackPawns = 0;
+		whiteQueens = 0;
+		blackQueens = 0;
+		hash = 0;
+		evaluation = 0;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		BitboardPosition that = (BitboardPosition) o;
+		return whitePawns == that.whitePawns &&
+				blackPawns == that.blackPawns &&
+				whiteQueens == that.whiteQueens &&
+				blackQueens == that.blackQueens;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(whitePawns, blackPawns, whiteQueens, blackQueens);
+	}
+
+	@Override
+	public String toString() {
+		return "BitboardPosition{" +
+				"whitePawns=" + Long.toBinaryString(whitePawns) +
+				", blackPawns=" + Long.toBinaryString(blackPawns) +
+				", whiteQueens=" + Long.toBinaryString(whiteQueens) +
+				", blackQueens=" + Long.toBinaryString(blackQueens) +
+				'}';
+	}
+
+}
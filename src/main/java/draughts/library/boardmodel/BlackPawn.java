@@ -24,10 +24,8 @@ public class BlackPawn extends Pawn {
 		
 		ArrayList<Move<Hop>> moves = new ArrayList<>();
 				
-		if(position.getRow()<10 && position.getColumn()>1) 
-			addMovesIfAny(moves, findMovesInDirection(MoveDirection.DOWN_LEFT, board));
-		if(position.getRow()<10 && position.getColumn()<10) 
-			addMovesIfAny(moves, findMovesInDirection(MoveDirection.DOWN_RIGHT, board));
+		addMovesIfAny(moves, findMovesInDirection(MoveDirection.DOWN_LEFT, board));
+		addMovesIfAny(moves, findMovesInDirection(MoveDirection.DOWN_RIGHT, board));
 		return moves;
 	}
 	
@@ -1,9 +1,84 @@
 package draughts.library.boardmodel;
 
+import draughts.library.boardmodel.Piece.MoveDirection;
+
 public class Board {
 	
 	public static final int NUMBER_OF_TILES = 100;
 	public static final int NUMBER_OF_ROWS = 10;
 	public static final int TILES_IN_ROW = 10;
+	public static final int PLAYABLE_TILES = 50;
+	public static final int NUMBER_OF_DIRECTIONS = 4;
+	
+	private static final int[] ROWS = new int[PLAYABLE_TILES + 1];
+	private static final int[] COLUMNS = new int[PLAYABLE_TILES + 1];
+	private static final int[][] INDEXES = new int[NUMBER_OF_ROWS + 1][TILES_IN_ROW + 1];
+	
+	//for every tile and direction (MoveDirection ordinal): tiles up to the board edge, nearest first
+	private static final int[][][] RAYS = new int[PLAYABLE_TILES + 1][NUMBER_OF_DIRECTIONS][];
+	private static final int[][] NEIGHBOURS = new int[PLAYABLE_TILES + 1][NUMBER_OF_DIRECTIONS];
+	private static final int[][] JUMP_LANDINGS = new int[PLAYABLE_TILES + 1][NUMBER_OF_DIRECTIONS];
+	
+	static {
+		for(int index=0; index<=PLAYABLE_TILES; index++) {
+			ROWS[index] = (index-1)/(TILES_IN_ROW/2) + 1;
+			int column = (index*2-1)%TILES_IN_ROW;
+			COLUMNS[index] = ROWS[index]%2 == 0 ? column : column+1;
+			if(index > 0) INDEXES[ROWS[index]][COLUMNS[index]] = index;
+		}
+		
+		for(int index=1; index<=PLAYABLE_TILES; index++) {
+			for(MoveDirection moveDirection : MoveDirection.values()) {
+				int direction = moveDirection.ordinal();
+				int[] ray = new int[TILES_IN_ROW];
+				int length = 0;
+				int row = ROWS[index] + getRowStep(moveDirection);
+				int column = COLUMNS[index] + getColumnStep(moveDirection);
+				
+				while(row >= 1 && row <= NUMBER_OF_ROWS && column >= 1 && column <= TILES_IN_ROW) {
+					ray[length++] = INDEXES[row][column];
+					row += getRowStep(moveDirection);
+					column += getColumnStep(moveDirection);
+				}
+				
+				RAYS[index][direction] = new int[length];
+				System.arraycopy(ray, 0, RAYS[index][direction], 0, length);
+				NEIGHBOURS[index][direction] = length > 0 ? ray[0] : 0;
+				JUMP_LANDINGS[index][direction] = length > 1 ? ray[1] : 0;
+			}
+		}
+	}
+	
+	private static int getRowStep(MoveDirection moveDirection) {
+		return moveDirection == MoveDirection.UP_LEFT || moveDirection == MoveDirection.UP_RIGHT ? -1 : 1;
+	}
+	
+	private static int getColumnStep(MoveDirection moveDirection) {
+		return moveDirection == MoveDirection.UP_LEFT || moveDirection == MoveDirection.DOWN_LEFT ? -1 : 1;
+	}
+	
+	public static int getRow(int index) {
+		return ROWS[index];
+	}
+	
+	public static int getColumn(int index) {
+		return COLUMNS[index];
+	}
+	
+	public static Tile getTile(Tile[][] board, int index) {
+		return board[ROWS[index]-1][COLUMNS[index]-1];
+	}
+	
+	public static int[] getRay(int index, MoveDirection moveDirection) {
+		return RAYS[index][moveDirection.ordinal()]; //shared table, must not be modified
+	}
+	
+	public static int getNeighbour(int index, MoveDirection moveDirection) {
+		return NEIGHBOURS[index][moveDirection.ordinal()];
+	}
+	
+	public static int getJumpLanding(int index, MoveDirection moveDirection) {
+		return JUMP_LANDINGS[index][moveDirection.ordinal()];
+	}
 
 }
@@ -2,7 +2,6 @@ package draughts.library.boardmodel;
 
 import java.util.ArrayList;
 
-import draughts.library.exceptions.NoPieceFoundInRequestedTileException;
 import draughts.library.movemodel.Capture;
 import draughts.library.movemodel.Hop;
 import draughts.library.movemodel.Move;
@@ -20,28 +19,27 @@ public abstract class Pawn extends Piece {
 	public ArrayList<Move<Hop>> findMovesInDirection(MoveDirection moveDirection, Tile[][] board) {
 		
 		ArrayList<Move<Hop>> moves = new ArrayList<>();
-		Tile target = findTarget(moveDirection, board, 1);
+		int neighbour = Board.getNeighbour(position.getIndex(), moveDirection);
+		if(neighbour == 0) return moves;
 		
+		Tile target = Board.getTile(board, neighbour);
 		if(target.getState() == Tile.State.EMPTY)
 			moves.add(new Move<Hop>(this, new Hop(position, target)));
 		return moves;
 	}
 	
-	public ArrayList<Capture> findCapturesInDirection(MoveDirection moveDirection, Tile[][] board, ArrayList<Piece> allPieces) {
+	public ArrayList<Capture> findCapturesInDirection(MoveDirection moveDirection, Tile[][] board, Piece[] piecesOnTiles) {
 		
 		ArrayList<Capture> hops = new ArrayList<>();
+		int jumpLanding = Board.getJumpLanding(position.getIndex(), moveDirection);
+		if(jumpLanding == 0) return hops;
 		
-		Tile target = findTarget(moveDirection, board, 2);
-		Tile possibleTake = findTarget(moveDirection, board, 1);
+		Tile target = Board.getTile(board, jumpLanding);
+		Tile possibleTake = Board.getTile(board, Board.getNeighbour(position.getIndex(), moveDirection));
 		
 		if(isTakePossible(target, possibleTake)) {
-			try {
-				Piece takenPiece = findPieceBeingTaken(possibleTake, allPieces);
-				hops.add(new Capture(position, target, takenPiece));
-			} catch(NoPieceFoundInRequestedTileException ex) {
-				ex.printStackTrace();
-			}
-
+			Piece takenPiece = findPieceBeingTaken(possibleTake, piecesOnTiles);
+			if(takenPiece != null) hops.add(new Capture(position, target, takenPiece));
 		}
 		return hops;
 	}
@@ -3,7 +3,6 @@ package draughts.library.boardmodel;
 import java.util.ArrayList;
 import java.util.Objects;
 
-import draughts.library.exceptions.NoPieceFoundInRequestedTileException;
 import draughts.library.movemodel.Capture;
 import draughts.library.movemodel.Hop;
 import draughts.library.movemodel.Move;
@@ -28,7 +27,7 @@ public abstract class Piece {
 	
 	public abstract ArrayList<Move<Hop>> findMovesInDirection(MoveDirection moveDirection, Tile[][] board);
 	
-	public abstract ArrayList<Capture> findCapturesInDirection(MoveDirection moveDirection, Tile[][] board, ArrayList<Piece> pieces);
+	public abstract ArrayList<Capture> findCapturesInDirection(MoveDirection moveDirection, Tile[][] board, Piece[] piecesOnTiles);
 	
 	
 	
@@ -60,45 +59,32 @@ public abstract class Piece {
 			mainList.addAll(candidateList);
 	}
 			
-	public ArrayList<Capture> findCaptures(Tile[][] board, ArrayList<Piece> pieces) {
+	public ArrayList<Capture> findCaptures(Tile[][] board, Piece[] piecesOnTiles) {
 		
 		ArrayList<Capture> moves = new ArrayList<>();
 		
-		if(position.getColumn() > 2 && position.getRow() > 2) 
-			addHopsIfAny(moves, findCapturesInDirection(MoveDirection.UP_LEFT, board, pieces));
-		if(position.getColumn() < 9 && position.getRow() > 2) 
-			addHopsIfAny(moves, findCapturesInDirection(MoveDirection.UP_RIGHT, board, pieces));
-		if(position.getColumn() > 2 && position.getRow() < 9) 
-			addHopsIfAny(moves, findCapturesInDirection(MoveDirection.DOWN_LEFT, board, pieces));
-		if(position.getColumn() < 9 && position.getRow() < 9) 
-			addHopsIfAny(moves, findCapturesInDirection(MoveDirection.DOWN_RIGHT, board, pieces));		
+		int index = position.getIndex();
+		
+		if(Board.getJumpLanding(index, MoveDirection.UP_LEFT) != 0) 
+			addHopsIfAny(moves, findCapturesInDirection(MoveDirection.UP_LEFT, board, piecesOnTiles));
+		if(Board.getJumpLanding(index, MoveDirection.UP_RIGHT) != 0) 
+			addHopsIfAny(moves, findCapturesInDirection(MoveDirection.UP_RIGHT, board, piecesOnTiles));
+		if(Board.getJumpLanding(index, MoveDirection.DOWN_LEFT) != 0) 
+			addHopsIfAny(moves, findCapturesInDirection(MoveDirection.DOWN_LEFT, board, piecesOnTiles));
+		if(Board.getJumpLanding(index, MoveDirection.DOWN_RIGHT) != 0) 
+			addHopsIfAny(moves, findCapturesInDirection(MoveDirection.DOWN_RIGHT, board, piecesOnTiles));		
 		
 		return moves;
 	}
 	
 	public Tile findTarget(MoveDirection moveDirection, Tile[][] board, int hopLength) {
-		
-		switch(moveDirection) {
-			case UP_LEFT:
-				return board[position.getRow()-1-hopLength][position.getColumn()-1-hopLength];
-			case UP_RIGHT:
-				return board[position.getRow()-1-hopLength][position.getColumn()-1+hopLength];
-			case DOWN_LEFT:
-				return board[position.getRow()-1+hopLength][position.getColumn()-1-hopLength];
-			case DOWN_RIGHT:
-				return board[position.getRow()-1+hopLength][position.getColumn()-1+hopLength];
-			default:
-				break;
-		}
-		return null;
+		int[] ray = Board.getRay(position.getIndex(), moveDirection);
+		if(hopLength > ray.length) return null;
+		return Board.getTile(board, ray[hopLength-1]);
 	}
 	
-	public Piece findPieceBeingTaken(Tile position, ArrayList<Piece> allPieces) throws NoPieceFoundInRequestedTileException {
-		for(Piece piece : allPieces) {
-			if (piece.getPosition().equals(position)) return piece;
-		}
-		
-		throw new NoPieceFoundInRequestedTileException("No piece on seemingly taken tile: " + position.getIndex());
+	public Piece findPieceBeingTaken(Tile position, Piece[] piecesOnTiles) {
+		return piecesOnTiles[position.getIndex()];
 	}
 
 	@Override
@@ -0,0 +1,61 @@
+package draughts.library.boardmodel;
+
+public final class PieceSquareTable {
+
+	public static final int PAWN_VALUE = 100;
+	public static final int QUEEN_VALUE = 300;
+	public static final int TEMPO_VALUE = 2; //for every row a pawn has advanced
+	public static final int CENTRE_VALUE = 6;
+	public static final int BACK_RANK_VALUE = 8; //pawns left on the own back rank stop opposite promotions
+	public static final int LONG_DIAGONAL_VALUE = 10; //queens on the diagonal from 46 to 5
+
+	//values are from white's point of view, so black pieces have negative ones
+	private static final int[][] VALUES = new int[Tile.State.values().length][Board.PLAYABLE_TILES + 1];
+
+	static {
+		for(int index=1; index<=Board.PLAYABLE_TILES; index++) {
+			int mirroredIndex = Board.PLAYABLE_TILES + 1 - index; //board rotated by 180 degrees
+			VALUES[Tile.State.WHITE_PAWN.ordinal()][index] = getWhitePawnValue(index);
+			VALUES[Tile.State.WHITE_QUEEN.ordinal()][index] = getWhiteQueenValue(index);
+			VALUES[Tile.State.BLACK_PAWN.ordinal()][mirroredIndex] = -getWhitePawnValue(index);
+			VALUES[Tile.State.BLACK_QUEEN.ordinal()][mirroredIndex] = -getWhiteQueenValue(index);
+		}
+	}
+
+	private PieceSquareTable() {
+	}
+
+	private static int getWhitePawnValue(int index) {
+		int row = Board.getRow(index);
+		int value = PAWN_VALUE + TEMPO_VALUE * (Board.NUMBER_OF_ROWS - row);
+		if(isCentreTile(index)) value += CENTRE_VALUE;
+		if(row == Board.NUMBER_OF_ROWS) value += BACK_RANK_VALUE;
+		return value;
+	}
+
+	private static int getWhiteQueenValue(int index) {
+		int value = QUEEN_VALUE;
+		if(isCentreTile(index)) value += CENTRE_VALUE;
+		if(Board.getRow(index) + Board.getColumn(index) == Board.NUMBER_OF_ROWS + 1) value += LONG_DIAGONAL_VALUE;
+		return value;
+	}
+
+	private static boolean isCentreTile(int index) {
+		int row = Board.getRow(index);
+		int column = Board.getColumn(index);
+		return row >= 4 && row <= 7 && column >= 3 && column <= 8;
+	}
+
+	public static int getValue(Tile.State state, int index) {
+		return VALUES[state.ordinal()][index]; //zero for empty tiles
+	}
+
+	public static int evaluate(BitboardPosition position) {
+		int evaluation = 0;
+		for(int index=1; index<=Board.PLAYABLE_TILES; index++) {
+			evaluation += getValue(position.getState(index), index);
+		}
+		return evaluation;
+	}
+
+}
@@ -29,7 +29,7 @@ public class Tile {
 	}
 	
 	public int getRow() {
-		return (index-1)/(Board.TILES_IN_ROW/2) + 1;
+		return Board.getRow(index);
 	}
 	
 	public boolean isRowEven() {
@@ -37,9 +37,7 @@ public class Tile {
 	}
 	
 	public int getColumn() {
-		int column = (index*2-1)%Board.TILES_IN_ROW;
-		if(isRowEven()) return column;
-		else return column+1;
+		return Board.getColumn(index);
 	}
 
 	private int calculateIndex(int row, int column) {
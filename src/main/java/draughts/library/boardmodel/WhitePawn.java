@@ -24,10 +24,8 @@ public class WhitePawn extends Pawn {
 		
 		ArrayList<Move<Hop>> moves = new ArrayList<>();
 				
-		if(position.getRow()>1 && position.getColumn()>1) 
-			addMovesIfAny(moves, findMovesInDirection(MoveDirection.UP_LEFT, board));
-		if(position.getRow()>1 && position.getColumn()<10) 
-			addMovesIfAny(moves, findMovesInDirection(MoveDirection.UP_RIGHT, board));
+		addMovesIfAny(moves, findMovesInDirection(MoveDirection.UP_LEFT, board));
+		addMovesIfAny(moves, findMovesInDirection(MoveDirection.UP_RIGHT, board));
 		return moves;
 	}
 	
@@ -0,0 +1,41 @@
+package draughts.library.boardmodel;
+
+import java.util.SplittableRandom;
+
+public final class Zobrist {
+
+	private static final long SEED = 0x5DEECE66DL; //fixed, so hashes stay the same between runs and can be stored
+	private static final long[][] KEYS = new long[Tile.State.values().length][Board.PLAYABLE_TILES + 1];
+	public static final long BLACK_TO_MOVE;
+
+	static {
+		SplittableRandom random = new SplittableRandom(SEED);
+		for(Tile.State state : new Tile.State[] {Tile.State.WHITE_PAWN, Tile.State.BLACK_PAWN,
+												 Tile.State.WHITE_QUEEN, Tile.State.BLACK_QUEEN}) {
+			for(int index=1; index<=Board.PLAYABLE_TILES; index++) {
+				KEYS[state.ordinal()][index] = random.nextLong();
+			}
+		}
+		BLACK_TO_MOVE = random.nextLong();
+	}
+
+	private Zobrist() {
+	}
+
+	public static long getKey(Tile.State state, int index) {
+		return KEYS[state.ordinal()][index]; //zero for empty tiles
+	}
+
+	public static long getSideToMoveKey(boolean isWhiteToMove) {
+		return isWhiteToMove ? 0 : BLACK_TO_MOVE;
+	}
+
+	public static long hash(BitboardPosition position) {
+		long hash = 0;
+		for(int index=1; index<=Board.PLAYABLE_TILES; index++) {
+			hash ^= getKey(position.getState(index), index);
+		}
+		return hash;
+	}
+
+}
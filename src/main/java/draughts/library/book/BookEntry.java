@@ -0,0 +1,42 @@
+package draughts.library.book;
+
+public class BookEntry {
+
+	private final long positionHash;
+	private final int source;
+	private final int destination;
+	private final int weight;
+
+	public BookEntry(long positionHash, int source, int destination, int weight) {
+		this.positionHash = positionHash;
+		this.source = source;
+		this.destination = destination;
+		this.weight = weight;
+	}
+
+	public long getPositionHash() {
+		return positionHash;
+	}
+
+	public int getSource() {
+		return source;
+	}
+
+	public int getDestination() {
+		return destination;
+	}
+
+	public int getWeight() {
+		return weight;
+	}
+
+	@Override
+	public String toString() {
+		return "BookEntry{" +
+				"positionHash=" + Long.toHexString(positionHash) +
+				", move=" + source + "-" + destination +
+				", weight=" + weight +
+				'}';
+	}
+
+}
@@ -0,0 +1,86 @@
+package draughts.library.book;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import draughts.library.managers.GameEngine;
+import draughts.library.managers.MoveManager;
+import draughts.library.movemodel.Hop;
+import draughts.library.movemodel.Move;
+
+public class OpeningBook {
+
+	static final int MAGIC = 0x44424B31;
+	static final int HEADER_SIZE = 16; //magic, reserved int and number of entries
+	static final int ENTRY_SIZE = 16; //hash, source, destination, two reserved bytes and weight
+
+	private final MappedByteBuffer entries; //sorted by hash, entries of one position by descending weight
+	private final int numberOfEntries;
+
+	private OpeningBook(MappedByteBuffer entries, int numberOfEntries) {
+		this.entries = entries;
+		this.numberOfEntries = numberOfEntries;
+	}
+
+	public static OpeningBook open(Path path) throws IOException {
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			if(channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE)
+				throw new IOException("Not an opening book file: " + path);
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if(buffer.getInt(0) != MAGIC) throw new IOException("Not an opening book file: " + path);
+
+			long numberOfEntries = buffer.getLong(8);
+			if(HEADER_SIZE + numberOfEntries * ENTRY_SIZE != channel.size())
+				throw new IOException("Truncated opening book file: " + path);
+			return new OpeningBook(buffer, (int) numberOfEntries);
+		}
+	}
+
+	public int getNumberOfEntries() {
+		return numberOfEntries;
+	}
+
+	public List<BookEntry> findEntries(long positionHash) {
+		ByteBuffer buffer = entries.duplicate(); //absolute reads only, but the copy keeps callers independent
+		List<BookEntry> found = new ArrayList<>();
+
+		int low = 0;
+		int high = numberOfEntries;
+		while(low < high) { //first entry with a hash not lower than the searched one
+			int middle = (low + high) >>> 1;
+			if(Long.compareUnsigned(getHash(buffer, middle), positionHash) < 0) low = middle + 1;
+			else 															   high = middle;
+		}
+
+		for(int i=low; i<numberOfEntries && getHash(buffer, i) == positionHash; i++) {
+			int offset = HEADER_SIZE + i * ENTRY_SIZE;
+			found.add(new BookEntry(positionHash, buffer.get(offset + 8), buffer.get(offset + 9), buffer.getInt(offset + 12)));
+		}
+		return found;
+	}
+
+	//the most played legal move of the book, null when the position is out of the book
+	public Move<? extends Hop> findMove(GameEngine gameEngine) {
+		List<BookEntry> bookEntries = findEntries(gameEngine.getPositionHash());
+		if(bookEntries.isEmpty()) return null;
+
+		ArrayList<Move<? extends Hop>> moves = new MoveManager().findAllCorrectMoves(gameEngine.getBoardManager(), gameEngine.getIsWhiteToMove());
+		for(BookEntry entry : bookEntries) {
+			for(Move<? extends Hop> move : moves) {
+				if(move.doesSourceMatch(entry.getSource()) && move.doesDestinationMatch(entry.getDestination())) return move;
+			}
+		}
+		return null;
+	}
+
+	private static long getHash(ByteBuffer buffer, int entry) {
+		return buffer.getLong(HEADER_SIZE + entry * ENTRY_SIZE);
+	}
+
+}
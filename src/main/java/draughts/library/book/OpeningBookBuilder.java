@@ -0,0 +1,161 @@
+package draughts.library.book;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import draughts.library.exceptions.WrongMoveException;
+import draughts.library.managers.GameEngine;
+import draughts.library.movemodel.Hop;
+import draughts.library.movemodel.Move;
+
+public class OpeningBookBuilder {
+
+	public static final int DEFAULT_MAX_PLY = 24;
+
+	private final int maxPly; //only moves played before this ply enter the book
+	private final Map<BookKey, Integer> weights;
+	private int numberOfGames;
+
+	public OpeningBookBuilder() {
+		this(DEFAULT_MAX_PLY);
+	}
+
+	public OpeningBookBuilder(int maxPly) {
+		this.maxPly = maxPly;
+		this.weights = new HashMap<>();
+	}
+
+	public int getNumberOfGames() {
+		return numberOfGames;
+	}
+
+	public int getNumberOfEntries() {
+		return weights.size();
+	}
+
+	public void addGames(List<String> games) throws WrongMoveException {
+		for(String game : games) {
+			addGame(game);
+		}
+	}
+
+	//moves in the usual notation, like "1. 32-28 19-23 2. 28x19 14x23", move numbers and results are skipped
+	public void addGame(String game) throws WrongMoveException {
+		GameEngine gameEngine = new GameEngine();
+		gameEngine.startGame();
+		ArrayList<BookKey> gameKeys = new ArrayList<>(); //merged only once the whole game replays, a wrong move leaves the book untouched
+		int ply = 0;
+
+		for(String token : game.trim().split("\\s+")) {
+			if(ply >= maxPly || gameEngine.getGameState() != GameEngine.GameState.RUNNING) break;
+			if(!isMove(token)) continue;
+
+			Move<? extends Hop> move = findMove(gameEngine, token);
+			gameKeys.add(new BookKey(gameEngine.getPositionHash(), move.getMoveSource().getIndex(),
+					move.getMoveDestination().getIndex()));
+
+			gameEngine.getBoardManager().makeWholeMove(move);
+			gameEngine.finishMove(move);
+			ply++;
+		}
+		for(BookKey key : gameKeys) {
+			weights.merge(key, 1, Integer::sum);
+		}
+		numberOfGames++;
+	}
+
+	private static boolean isMove(String token) {
+		return token.matches("\\d+([-x]\\d+)+") && !token.matches("[012]-[012]"); //game results look like moves
+	}
+
+	private static Move<? extends Hop> findMove(GameEngine gameEngine, String token) throws WrongMoveException {
+		String[] squares = token.split("[-x]");
+		int source = Integer.parseInt(squares[0]);
+		int destination = Integer.parseInt(squares[squares.length-1]);
+
+		ArrayList<Move<? extends Hop>> moves = gameEngine.getMoveManager().findAllCorrectMoves(gameEngine.getBoardManager(),
+				gameEngine.getIsWhiteToMove());
+		for(Move<? extends Hop> move : moves) {
+			if(move.doesSourceMatch(source) && move.doesDestinationMatch(destination) && doesPathMatch(move, squares))
+				return move;
+		}
+		throw new WrongMoveException("Move " + token + " from the game is not allowed!");
+	}
+
+	//intermediate squares, when given, tell apart captures with the same source and destination
+	private static boolean doesPathMatch(Move<? extends Hop> move, String[] squares) {
+		if(squares.length == 2) return true;
+		if(squares.length != move.getNumberOfHops() + 1) return false;
+		for(int i=1; i<squares.length-1; i++) {
+			if(move.getHop(i-1).getDestination().getIndex() != Integer.parseInt(squares[i])) return false;
+		}
+		return true;
+	}
+
+	public List<BookEntry> getEntries() {
+		List<BookEntry> entries = new ArrayList<>();
+		for(Map.Entry<BookKey, Integer> entry : weights.entrySet()) {
+			BookKey key = entry.getKey();
+			entries.add(new BookEntry(key.positionHash, key.source, key.destination, entry.getValue()));
+		}
+		entries.sort(Comparator.comparing(BookEntry::getPositionHash, Long::compareUnsigned)
+							   .thenComparing(BookEntry::getWeight, Comparator.reverseOrder())
+							   .thenComparingInt(BookEntry::getSource)
+							   .thenComparingInt(BookEntry::getDestination));
+		return entries;
+	}
+
+	public void write(Path path) throws IOException {
+		List<BookEntry> entries = getEntries();
+		try(DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+			output.writeInt(OpeningBook.MAGIC);
+			output.writeInt(0);
+			output.writeLong(entries.size());
+			for(BookEntry entry : entries) {
+				output.writeLong(entry.getPositionHash());
+				output.writeByte(entry.getSource());
+				output.writeByte(entry.getDestination());
+				output.writeShort(0);
+				output.writeInt(entry.getWeight());
+			}
+		}
+	}
+
+	private static final class BookKey {
+
+		private final long positionHash;
+		private final int source;
+		private final int destination;
+
+		BookKey(long positionHash, int source, int destination) {
+			this.positionHash = positionHash;
+			this.source = source;
+			this.destination = destination;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			BookKey bookKey = (BookKey) o;
+			return positionHash == bookKey.positionHash &&
+					source == bookKey.source &&
+					destination == bookKey.destination;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(positionHash, source, destination);
+		}
+	}
+
+}
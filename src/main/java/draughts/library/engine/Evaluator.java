@@ -0,0 +1,17 @@
+package draughts.library.engine;
+
+import draughts.library.boardmodel.BitboardPosition;
+import draughts.library.managers.BoardManager;
+
+public class Evaluator {
+
+	public int evaluate(BoardManager boardManager, boolean isWhiteToMove) {
+		return evaluate(boardManager.getBitboards(), isWhiteToMove);
+	}
+
+	//material, piece-square, back rank, centre and tempo terms are kept up to date by the position itself
+	public int evaluate(BitboardPosition position, boolean isWhiteToMove) {
+		return isWhiteToMove ? position.getEvaluation() : -position.getEvaluation();
+	}
+
+}
@@ -0,0 +1,107 @@
+package draughts.library.engine;
+
+import java.util.ArrayList;
+
+import draughts.library.boardmodel.Board;
+import draughts.library.movemodel.Hop;
+import draughts.library.movemodel.Move;
+
+public class MoveOrdering {
+
+	private static final int HASH_MOVE_SCORE = 1 << 30;
+	private static final int CAPTURE_SCORE = 1 << 24; //plus number of hops, longer captures first
+	private static final int PROMOTION_SCORE = 1 << 23;
+	private static final int FIRST_KILLER_SCORE = 1 << 22;
+	private static final int SECOND_KILLER_SCORE = 1 << 21;
+	private static final int MAX_HISTORY_SCORE = 1 << 20; //history scores stay below the killers
+	private static final int NUMBER_OF_KILLERS = 2;
+
+	private final int[][] killers; //killers[ply] hold source and destination packed by packMove
+	private final int[][] history; //history[source][destination] grows with every quiet move causing a cutoff
+	private final int[][] scores; //scratch space for sorting, one per ply
+
+	public MoveOrdering(int maxPly) {
+		killers = new int[maxPly + 1][NUMBER_OF_KILLERS];
+		history = new int[Board.PLAYABLE_TILES + 1][Board.PLAYABLE_TILES + 1];
+		scores = new int[maxPly + 1][64];
+	}
+
+	public int getHistoryScore(int source, int destination) {
+		return history[source][destination];
+	}
+
+	public void newSearch() {
+		for(int[] plyKillers : killers) {
+			plyKillers[0] = 0;
+			plyKillers[1] = 0;
+		}
+		for(int[] sourceHistory : history) {
+			for(int destination=0; destination<sourceHistory.length; destination++) {
+				sourceHistory[destination] /= 2; //older searches still say something about the position
+			}
+		}
+	}
+
+	public void orderMoves(ArrayList<Move<? extends Hop>> moves, int ply, int hashMoveSource, int hashMoveDestination) {
+		int numberOfMoves = moves.size();
+		if(scores[ply].length < numberOfMoves) scores[ply] = new int[numberOfMoves * 2];
+		int[] moveScores = scores[ply];
+		int hashMove = packMove(hashMoveSource, hashMoveDestination);
+
+		for(int i=0; i<numberOfMoves; i++) {
+			moveScores[i] = scoreMove(moves.get(i), ply, hashMove);
+		}
+
+		for(int i=1; i<numberOfMoves; i++) { //insertion sort, move lists are short and often nearly sorted
+			Move<? extends Hop> move = moves.get(i);
+			int score = moveScores[i];
+			int j = i - 1;
+			while(j >= 0 && moveScores[j] < score) {
+				moves.set(j + 1, moves.get(j));
+				moveScores[j + 1] = moveScores[j];
+				j--;
+			}
+			moves.set(j + 1, move);
+			moveScores[j + 1] = score;
+		}
+	}
+
+	public void updateForCutoff(Move<? extends Hop> move, int ply, int depth) {
+		if(move.isCapture()) return; //captures are mandatory and already ordered first
+
+		int source = move.getMoveSource().getIndex();
+		int destination = move.getMoveDestination().getIndex();
+		int packedMove = packMove(source, destination);
+		if(killers[ply][0] != packedMove) {
+			killers[ply][1] = killers[ply][0];
+			killers[ply][0] = packedMove;
+		}
+
+		history[source][destination] += depth * depth;
+		if(history[source][destination] >= MAX_HISTORY_SCORE) {
+			for(int[] sourceHistory : history) {
+				for(int i=0; i<sourceHistory.length; i++) {
+					sourceHistory[i] /= 2;
+				}
+			}
+		}
+	}
+
+	private int scoreMove(Move<? extends Hop> move, int ply, int hashMove) {
+		int source = move.getMoveSource().getIndex();
+		int destination = move.getMoveDestination().getIndex();
+		int packedMove = packMove(source, destination);
+
+		if(packedMove == hashMove) return HASH_MOVE_SCORE;
+		if(move.isCapture()) return CAPTURE_SCORE + move.getNumberOfHops();
+		if(move.isPromotion()) return PROMOTION_SCORE;
+		if(packedMove == killers[ply][0]) return FIRST_KILLER_SCORE;
+		if(packedMove == killers[ply][1]) return SECOND_KILLER_SCORE;
+		return history[source][destination];
+	}
+
+	private static int packMove(int source, int destination) {
+		return source << 6 | destination; //0 stands for no move, tile indexes start at 1
+	}
+
+}
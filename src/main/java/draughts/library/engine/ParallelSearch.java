@@ -0,0 +1,91 @@
+package draughts.library.engine;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import draughts.library.managers.BoardManager;
+import draughts.library.managers.DrawArbiter;
+import draughts.library.managers.GameEngine;
+
+public class ParallelSearch {
+
+	private final TranspositionTable transpositionTable;
+	private final SearchEngine[] workers; //workers[0] searches on the caller's board, the rest help through the table
+
+	public ParallelSearch(int numberOfThreads) {
+		this(new TranspositionTable(16), numberOfThreads);
+	}
+
+	public ParallelSearch(TranspositionTable transpositionTable, int numberOfThreads) {
+		this.transpositionTable = transpositionTable;
+		this.workers = new SearchEngine[numberOfThreads];
+		for(int i=0; i<numberOfThreads; i++) {
+			workers[i] = new SearchEngine(transpositionTable);
+		}
+	}
+
+	public TranspositionTable getTranspositionTable() {
+		return transpositionTable;
+	}
+
+	public int getNumberOfThreads() {
+		return workers.length;
+	}
+
+	public SearchResult search(GameEngine gameEngine, int depth) {
+		return search(gameEngine.getBoardManager(), gameEngine.getIsWhiteToMove(), gameEngine.getDrawArbiter(), depth, null);
+	}
+
+	public SearchResult search(BoardManager boardManager, boolean isWhiteToMove, int depth) {
+		return search(boardManager, isWhiteToMove, SearchEngine.createDrawArbiter(boardManager, isWhiteToMove), depth, null);
+	}
+
+	public SearchResult findBestMove(GameEngine gameEngine, TimeManager timeManager) {
+		timeManager.start();
+		return search(gameEngine.getBoardManager(), gameEngine.getIsWhiteToMove(), gameEngine.getDrawArbiter(),
+				SearchEngine.MAX_PLY - 1, timeManager); //helpers may go one ply deeper
+	}
+
+	public SearchResult findBestMove(BoardManager boardManager, boolean isWhiteToMove, TimeManager timeManager) {
+		timeManager.start();
+		return search(boardManager, isWhiteToMove, SearchEngine.createDrawArbiter(boardManager, isWhiteToMove),
+				SearchEngine.MAX_PLY - 1, timeManager);
+	}
+
+	//every worker gets its own copy of the draw arbiter, the one passed in is left untouched
+	private SearchResult search(BoardManager boardManager, boolean isWhiteToMove, DrawArbiter drawArbiter, int depth, TimeManager timeManager) {
+		transpositionTable.newSearch();
+		for(SearchEngine worker : workers) {
+			worker.prepareSearch();
+		}
+		if(workers.length == 1) return workers[0].searchUntilStopped(boardManager, isWhiteToMove, new DrawArbiter(drawArbiter), depth, timeManager);
+
+		ForkJoinPool pool = new ForkJoinPool(workers.length - 1);
+		try {
+			ArrayList<ForkJoinTask<?>> helpers = new ArrayList<>();
+			for(int i=1; i<workers.length; i++) {
+				SearchEngine helper = workers[i];
+				BoardManager helperBoard = new BoardManager(boardManager); //copied before the main worker touches the board
+				DrawArbiter helperDrawArbiter = new DrawArbiter(drawArbiter);
+				int helperDepth = depth + i % 2; //half of the helpers look one ply deeper to spread over the tree
+				helpers.add(pool.submit(() -> helper.searchUntilStopped(helperBoard, isWhiteToMove, helperDrawArbiter, helperDepth, null)));
+			}
+
+			SearchResult result = workers[0].searchUntilStopped(boardManager, isWhiteToMove, new DrawArbiter(drawArbiter), depth, timeManager); //only the main worker watches the clock
+
+			long nodes = workers[0].getNodes();
+			for(int i=1; i<workers.length; i++) {
+				workers[i].stop();
+			}
+			for(int i=0; i<helpers.size(); i++) {
+				helpers.get(i).join();
+				nodes += workers[i+1].getNodes();
+			}
+			return new SearchResult(result.getBestMove(), result.getScore(), result.getDepth(), nodes);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,127 @@
+package draughts.library.engine;
+
+import java.util.ArrayList;
+
+import draughts.library.managers.BoardManager;
+import draughts.library.managers.MoveGenerator;
+import draughts.library.managers.MoveManager;
+import draughts.library.managers.UndoStack;
+import draughts.library.movemodel.Capture;
+import draughts.library.movemodel.Hop;
+import draughts.library.movemodel.Move;
+import draughts.library.movemodel.MoveBuffer;
+import draughts.library.movemodel.PackedMove;
+
+public class QuiescenceSearch {
+
+	private final Evaluator evaluator;
+	private final MoveGenerator moveGenerator;
+	private final MoveBuffer threatBuffer;
+	private final MoveManager[] moveManagers; //quiet replies to a threat, one list per ply
+	private final UndoStack undoStack;
+	private final SearchEngine searchEngine; //null when used on its own, nothing can stop the search then
+	private int threatExtensions; //quiet plies searched when the opponent threatens a capture, 0 turns it off
+	private long nodes;
+
+	public QuiescenceSearch(Evaluator evaluator) {
+		this(evaluator, null);
+	}
+
+	QuiescenceSearch(Evaluator evaluator, SearchEngine searchEngine) {
+		this.evaluator = evaluator;
+		this.searchEngine = searchEngine;
+		this.moveGenerator = new MoveGenerator();
+		this.threatBuffer = new MoveBuffer();
+		this.moveManagers = new MoveManager[SearchEngine.MAX_PLY + 1];
+		this.undoStack = new UndoStack(SearchEngine.MAX_PLY + 1);
+		this.threatExtensions = 0;
+	}
+
+	public int getThreatExtensions() {
+		return threatExtensions;
+	}
+
+	public void setThreatExtensions(int threatExtensions) {
+		this.threatExtensions = threatExtensions;
+	}
+
+	public long getNodes() {
+		return nodes;
+	}
+
+	public void resetNodes() {
+		nodes = 0;
+	}
+
+	public int evaluate(BoardManager boardManager, boolean isWhiteToMove) {
+		return search(boardManager, isWhiteToMove, -SearchEngine.WIN_SCORE - 1, SearchEngine.WIN_SCORE + 1, 0);
+	}
+
+	public int search(BoardManager boardManager, boolean isWhiteToMove, int alpha, int beta, int ply) {
+		return search(boardManager, isWhiteToMove, alpha, beta, ply, threatExtensions);
+	}
+
+	private int search(BoardManager boardManager, boolean isWhiteToMove, int alpha, int beta, int ply, int threatsLeft) {
+		if(ply >= SearchEngine.MAX_PLY) return evaluator.evaluate(boardManager, isWhiteToMove);
+
+		ArrayList<Move<Capture>> captures = boardManager.findCapturesForAllPieces(isWhiteToMove);
+		if(!captures.isEmpty()) { //capturing is mandatory, so the static score of this position means nothing
+			int bestScore = -SearchEngine.WIN_SCORE - 1;
+			for(Move<Capture> capture : captures) {
+				capture.classify();
+				nodes++;
+				if(isAborted()) return 0;
+				boardManager.makeMove(PackedMove.encode(capture), undoStack);
+				int score = -search(boardManager, !isWhiteToMove, -beta, -Math.max(alpha, bestScore), ply+1, threatsLeft);
+				boardManager.unmakeMove(undoStack);
+				if(isStopped()) return 0; //unfinished, the main search throws the score away
+
+				if(score > bestScore) {
+					bestScore = score;
+					if(bestScore >= beta) break;
+				}
+			}
+			return bestScore;
+		}
+
+		if(!boardManager.isAnyMovePossible(isWhiteToMove)) return -SearchEngine.WIN_SCORE + ply;
+		if(threatsLeft > 0 && moveGenerator.generateCaptures(boardManager.getBitboards(), !isWhiteToMove, threatBuffer) > 0)
+			return searchThreat(boardManager, isWhiteToMove, alpha, beta, ply, threatsLeft);
+
+		return evaluator.evaluate(boardManager, isWhiteToMove); //quiet position
+	}
+
+	//opponent threatens to capture, so every reply is tried instead of trusting the static score
+	private int searchThreat(BoardManager boardManager, boolean isWhiteToMove, int alpha, int beta, int ply, int threatsLeft) {
+		if(moveManagers[ply] == null) moveManagers[ply] = new MoveManager();
+		MoveManager moveManager = moveManagers[ply];
+		moveManager.getPossibleMoves().clear();
+		ArrayList<Move<? extends Hop>> moves = moveManager.findAllCorrectMoves(boardManager, isWhiteToMove);
+
+		int bestScore = -SearchEngine.WIN_SCORE - 1;
+		for(int i=0; i<moves.size(); i++) {
+			Move<? extends Hop> move = moves.get(i);
+			nodes++;
+			if(isAborted()) return 0;
+			boardManager.makeMove(PackedMove.encode(move), undoStack);
+			int score = -search(boardManager, !isWhiteToMove, -beta, -Math.max(alpha, bestScore), ply+1, threatsLeft-1);
+			boardManager.unmakeMove(undoStack);
+			if(isStopped()) return 0;
+
+			if(score > bestScore) {
+				bestScore = score;
+				if(bestScore >= beta) break;
+			}
+		}
+		return bestScore;
+	}
+
+	private boolean isAborted() {
+		return searchEngine != null && searchEngine.isAborted();
+	}
+
+	private boolean isStopped() {
+		return searchEngine != null && searchEngine.getIsStopped();
+	}
+
+}
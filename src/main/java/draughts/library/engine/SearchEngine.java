@@ -0,0 +1,247 @@
+package draughts.library.engine;
+
+import java.util.ArrayList;
+
+import draughts.library.boardmodel.Zobrist;
+import draughts.library.engine.TranspositionTable.Bound;
+import draughts.library.managers.BoardManager;
+import draughts.library.managers.DrawArbiter;
+import draughts.library.managers.GameEngine;
+import draughts.library.managers.MoveManager;
+import draughts.library.managers.UndoStack;
+import draughts.library.movemodel.Hop;
+import draughts.library.movemodel.Move;
+import draughts.library.movemodel.PackedMove;
+
+public class SearchEngine {
+
+	public static final int WIN_SCORE = 30000;
+	public static final int MAX_PLY = 128;
+	private static final int INFINITY = WIN_SCORE + 1;
+	private static final int ABORT_CHECK_INTERVAL = 1023; //clock is read once per this many nodes plus one
+
+	private final TranspositionTable transpositionTable;
+	private final Evaluator evaluator;
+	private final MoveOrdering moveOrdering;
+	private final QuiescenceSearch quiescenceSearch;
+	private final MoveManager[] moveManagers; //one per ply, so move lists of parent nodes stay intact
+	private final UndoStack undoStack;
+
+	private BoardManager boardManager;
+	private DrawArbiter drawArbiter; //private copy, moves in the tree are pushed on it and popped again
+	private long nodes;
+	private volatile boolean isStopped;
+	private boolean isAbortAllowed;
+	private TimeManager timeManager; //null when the search is limited by depth only
+	private Move<? extends Hop> rootBestMove;
+
+	public SearchEngine() {
+		this(new TranspositionTable(16));
+	}
+
+	public SearchEngine(TranspositionTable transpositionTable) {
+		this.transpositionTable = transpositionTable;
+		this.evaluator = new Evaluator();
+		this.moveOrdering = new MoveOrdering(MAX_PLY);
+		this.quiescenceSearch = new QuiescenceSearch(evaluator, this);
+		this.undoStack = new UndoStack(MAX_PLY + 1);
+		this.moveManagers = new MoveManager[MAX_PLY + 1];
+		for(int i=0; i<moveManagers.length; i++) {
+			moveManagers[i] = new MoveManager();
+		}
+	}
+
+	public TranspositionTable getTranspositionTable() {
+		return transpositionTable;
+	}
+
+	public QuiescenceSearch getQuiescenceSearch() {
+		return quiescenceSearch;
+	}
+
+	public long getNodes() {
+		return nodes + quiescenceSearch.getNodes();
+	}
+
+	public boolean getIsStopped() {
+		return isStopped;
+	}
+
+	public void stop() {
+		isStopped = true;
+	}
+
+	public static boolean isWinScore(int score) {
+		return Math.abs(score) > WIN_SCORE - MAX_PLY;
+	}
+
+	public SearchResult search(GameEngine gameEngine, int depth) {
+		transpositionTable.newSearch();
+		prepareSearch();
+		return searchUntilStopped(gameEngine.getBoardManager(), gameEngine.getIsWhiteToMove(),
+				new DrawArbiter(gameEngine.getDrawArbiter()), depth, null);
+	}
+
+	public SearchResult search(BoardManager boardManager, boolean isWhiteToMove, int depth) {
+		transpositionTable.newSearch();
+		prepareSearch();
+		return searchUntilStopped(boardManager, isWhiteToMove, createDrawArbiter(boardManager, isWhiteToMove), depth, null);
+	}
+
+	public SearchResult findBestMove(GameEngine gameEngine, TimeManager timeManager) {
+		transpositionTable.newSearch();
+		prepareSearch();
+		timeManager.start();
+		return searchUntilStopped(gameEngine.getBoardManager(), gameEngine.getIsWhiteToMove(),
+				new DrawArbiter(gameEngine.getDrawArbiter()), MAX_PLY, timeManager);
+	}
+
+	public SearchResult findBestMove(BoardManager boardManager, boolean isWhiteToMove, TimeManager timeManager) {
+		transpositionTable.newSearch();
+		prepareSearch();
+		timeManager.start();
+		return searchUntilStopped(boardManager, isWhiteToMove, createDrawArbiter(boardManager, isWhiteToMove), MAX_PLY, timeManager);
+	}
+
+	//without a game there is no history, so the root is treated as the first position after an irreversible move
+	static DrawArbiter createDrawArbiter(BoardManager boardManager, boolean isWhiteToMove) {
+		DrawArbiter drawArbiter = new DrawArbiter();
+		drawArbiter.updateConditions(boardManager.getIsWhiteQueenOnBoard() && boardManager.getIsBlackQueenOnBoard(),
+				boardManager.getWhitePieces().size(), boardManager.getBlackPieces().size());
+		drawArbiter.updatePositionHistory(boardManager.getZobristHash() ^ Zobrist.getSideToMoveKey(isWhiteToMove), true);
+		return drawArbiter;
+	}
+
+	void prepareSearch() {
+		isStopped = false;
+		moveOrdering.newSearch();
+	}
+
+	SearchResult searchUntilStopped(BoardManager boardManager, boolean isWhiteToMove, DrawArbiter drawArbiter, int depth, TimeManager timeManager) {
+		this.boardManager = boardManager;
+		this.drawArbiter = drawArbiter;
+		this.timeManager = timeManager;
+		this.nodes = 0;
+		quiescenceSearch.resetNodes();
+
+		SearchResult result = null;
+		for(int currentDepth=1; currentDepth<=depth; currentDepth++) { //shallower iterations fill the table for move ordering
+			if(result != null && timeManager != null && !timeManager.canStartIteration(getNodes())) break;
+			isAbortAllowed = result != null; //the first iteration always finishes, so there is a move to return
+			SearchResult iterationResult = searchRoot(isWhiteToMove, currentDepth);
+			if(isStopped) break; //unfinished iteration, its score cannot be trusted
+			result = iterationResult;
+			if(result.getBestMove() == null || isWinScore(result.getScore())) break;
+		}
+		this.timeManager = null;
+		this.drawArbiter = null;
+		return result;
+	}
+
+	private SearchResult searchRoot(boolean isWhiteToMove, int depth) {
+		rootBestMove = null;
+		int score = negamax(isWhiteToMove, depth, -INFINITY, INFINITY, 0);
+		return new SearchResult(rootBestMove, score, depth, getNodes());
+	}
+
+	private int negamax(boolean isWhiteToMove, int depth, int alpha, int beta, int ply) {
+		nodes++;
+		if(isAborted()) return 0;
+		long hash = getPositionHash(isWhiteToMove);
+		long entry = transpositionTable.probe(hash);
+
+		if(entry != 0 && ply > 0 && TranspositionTable.getDepth(entry) >= depth) {
+			int storedScore = fromStoredScore(TranspositionTable.getScore(entry), ply);
+			Bound bound = TranspositionTable.getBound(entry);
+			if(bound == Bound.EXACT ||
+			   (bound == Bound.LOWER && storedScore >= beta) ||
+			   (bound == Bound.UPPER && storedScore <= alpha))
+				return storedScore;
+		}
+
+		if(ply >= MAX_PLY) return evaluator.evaluate(boardManager, isWhiteToMove);
+		if(depth <= 0) return quiescenceSearch.search(boardManager, isWhiteToMove, alpha, beta, ply);
+
+		MoveManager moveManager = moveManagers[ply];
+		moveManager.getPossibleMoves().clear();
+		ArrayList<Move<? extends Hop>> moves = moveManager.findAllCorrectMoves(boardManager, isWhiteToMove);
+		if(moves.isEmpty()) return -WIN_SCORE + ply; //side to move has lost
+
+		if(entry != 0) moveOrdering.orderMoves(moves, ply, TranspositionTable.getBestMoveSource(entry), TranspositionTable.getBestMoveDestination(entry));
+		else 		   moveOrdering.orderMoves(moves, ply, 0, 0);
+
+		int originalAlpha = alpha;
+		int bestScore = -INFINITY;
+		Move<? extends Hop> bestMove = null;
+
+		for(int i=0; i<moves.size(); i++) {
+			Move<? extends Hop> move = moves.get(i);
+			int score;
+
+			long packedMove = PackedMove.encode(move);
+			boolean isMoveMadeByQueen = move.getMovingPiece().isQueen();
+			boardManager.makeMove(packedMove, undoStack);
+			if(isDrawnAfterMove(packedMove, isMoveMadeByQueen, isWhiteToMove)) score = 0;
+			else if(i == 0) score = -negamax(!isWhiteToMove, depth-1, -beta, -alpha, ply+1);
+			else { //principal variation search: prove the move is worse with a null window first
+				score = -negamax(!isWhiteToMove, depth-1, -alpha-1, -alpha, ply+1);
+				if(score > alpha && score < beta) score = -negamax(!isWhiteToMove, depth-1, -beta, -alpha, ply+1);
+			}
+			drawArbiter.popState();
+			boardManager.unmakeMove(undoStack);
+			if(isStopped) return 0;
+
+			if(score > bestScore) {
+				bestScore = score;
+				bestMove = move;
+				if(ply == 0) rootBestMove = move;
+				if(score > alpha) alpha = score;
+				if(alpha >= beta) {
+					moveOrdering.updateForCutoff(move, ply, depth);
+					break;
+				}
+			}
+		}
+
+		Bound bound = bestScore <= originalAlpha ? Bound.UPPER : bestScore >= beta ? Bound.LOWER : Bound.EXACT;
+		transpositionTable.store(hash, depth, bound, toStoredScore(bestScore, ply),
+				bestMove.getMoveSource().getIndex(), bestMove.getMoveDestination().getIndex());
+		return bestScore;
+	}
+
+	//called for every node of the main and the quiescence search, so long capture sequences cannot overrun the hard limit
+	boolean isAborted() {
+		if(isAbortAllowed && timeManager != null && (getNodes() & ABORT_CHECK_INTERVAL) == 0 && timeManager.isHardLimitReached(getNodes()))
+			isStopped = true;
+		return isStopped;
+	}
+
+	//same updates as GameEngine.makeMove, so the 25 move rule, queen endgame counters and repetitions hold in the tree
+	private boolean isDrawnAfterMove(long packedMove, boolean isMoveMadeByQueen, boolean isWhiteToMove) {
+		drawArbiter.pushState();
+		drawArbiter.updateCounter(PackedMove.isCapture(packedMove), isMoveMadeByQueen);
+		drawArbiter.updateConditions(boardManager.getIsWhiteQueenOnBoard() && boardManager.getIsBlackQueenOnBoard(),
+				boardManager.getWhitePieces().size(), boardManager.getBlackPieces().size());
+		drawArbiter.updatePositionHistory(getPositionHash(!isWhiteToMove),
+				PackedMove.isCapture(packedMove) || PackedMove.isPromotion(packedMove) || !isMoveMadeByQueen);
+		return drawArbiter.isGameDrawn();
+	}
+
+	private long getPositionHash(boolean isWhiteToMove) {
+		return boardManager.getZobristHash() ^ Zobrist.getSideToMoveKey(isWhiteToMove);
+	}
+
+	//win scores are stored relative to the node, so they stay correct when reached through another path
+	private static int toStoredScore(int score, int ply) {
+		if(score > WIN_SCORE - MAX_PLY) return score + ply;
+		if(score < -WIN_SCORE + MAX_PLY) return score - ply;
+		return score;
+	}
+
+	private static int fromStoredScore(int score, int ply) {
+		if(score > WIN_SCORE - MAX_PLY) return score - ply;
+		if(score < -WIN_SCORE + MAX_PLY) return score + ply;
+		return score;
+	}
+
+}
@@ -0,0 +1,50 @@
+package draughts.library.engine;
+
+import draughts.library.movemodel.Hop;
+import draughts.library.movemodel.Move;
+
+public class SearchResult {
+
+	private final Move<? extends Hop> bestMove;
+	private final int score;
+	private final int depth;
+	private final long nodes;
+
+	public SearchResult(Move<? extends Hop> bestMove, int score, int depth, long nodes) {
+		this.bestMove = bestMove;
+		this.score = score;
+		this.depth = depth;
+		this.nodes = nodes;
+	}
+
+	public Move<? extends Hop> getBestMove() {
+		return bestMove;
+	}
+
+	public int getScore() {
+		return score;
+	}
+
+	public int getDepth() {
+		return depth;
+	}
+
+	public long getNodes() {
+		return nodes;
+	}
+
+	public boolean isWinFound() {
+		return SearchEngine.isWinScore(score);
+	}
+
+	@Override
+	public String toString() {
+		return "SearchResult{" +
+				"bestMove=" + bestMove +
+				", score=" + score +
+				", depth=" + depth +
+				", nodes=" + nodes +
+				'}';
+	}
+
+}
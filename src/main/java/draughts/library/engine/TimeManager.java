@@ -0,0 +1,68 @@
+package draughts.library.engine;
+
+public class TimeManager {
+
+	public static final long NO_LIMIT = Long.MAX_VALUE;
+	private static final int EXPECTED_MOVES_TO_GO = 30;
+	private static final long MOVE_OVERHEAD_MILLIS = 10; //reserved for answering the server in time
+	private static final long NANOS_IN_MILLI = 1_000_000L;
+
+	private final long softLimitMillis; //no new iteration is started after this time
+	private final long hardLimitMillis; //running iteration is aborted after this time
+	private final long nodeLimit;
+	private long startTime;
+
+	public TimeManager(long softLimitMillis, long hardLimitMillis, long nodeLimit) {
+		this.softLimitMillis = Math.min(softLimitMillis, hardLimitMillis);
+		this.hardLimitMillis = hardLimitMillis;
+		this.nodeLimit = nodeLimit;
+		start();
+	}
+
+	public static TimeManager forMoveTime(long moveTimeMillis) {
+		long hardLimit = Math.max(1, moveTimeMillis - MOVE_OVERHEAD_MILLIS);
+		return new TimeManager(hardLimit / 2, hardLimit, NO_LIMIT); //next iteration would rarely finish in the second half
+	}
+
+	public static TimeManager forClock(long remainingMillis, long incrementMillis) {
+		long available = Math.max(1, remainingMillis - MOVE_OVERHEAD_MILLIS);
+		long softLimit = available / EXPECTED_MOVES_TO_GO + incrementMillis * 3 / 4;
+		long hardLimit = Math.min(softLimit * 4, available / 3);
+		return new TimeManager(softLimit, Math.max(1, hardLimit), NO_LIMIT);
+	}
+
+	public static TimeManager forNodes(long nodeLimit) {
+		return new TimeManager(NO_LIMIT, NO_LIMIT, nodeLimit);
+	}
+
+	public long getSoftLimitMillis() {
+		return softLimitMillis;
+	}
+
+	public long getHardLimitMillis() {
+		return hardLimitMillis;
+	}
+
+	public long getNodeLimit() {
+		return nodeLimit;
+	}
+
+	public void start() {
+		startTime = System.nanoTime();
+	}
+
+	public long getElapsedMillis() {
+		return (System.nanoTime() - startTime) / NANOS_IN_MILLI;
+	}
+
+	public boolean canStartIteration(long nodes) {
+		if(nodes >= nodeLimit) return false;
+		return softLimitMillis == NO_LIMIT || getElapsedMillis() < softLimitMillis;
+	}
+
+	public boolean isHardLimitReached(long nodes) {
+		if(nodes >= nodeLimit) return true;
+		return hardLimitMillis != NO_LIMIT && getElapsedMillis() >= hardLimitMillis;
+	}
+
+}
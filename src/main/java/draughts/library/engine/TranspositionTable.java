@@ -0,0 +1,137 @@
+package draughts.library.engine;
+
+import java.util.Arrays;
+
+public class TranspositionTable {
+
+	private static final int ENTRY_SIZE = 2; //longs: key xor data, data
+	private static final int BUCKET_SIZE = 4; //entries, 64 bytes in total
+	private static final int BYTES_PER_BUCKET = ENTRY_SIZE * BUCKET_SIZE * Long.BYTES;
+	private static final long MAX_BUCKETS = 1L << 27; //keeps the table within the maximum array length
+	private static final Bound[] BOUNDS = Bound.values();
+
+	//data layout: bits 0-15 score, 16-23 depth, 24-25 bound, 26-33 age, 34-39 best move source, 40-45 best move destination
+	private static final int DEPTH_SHIFT = 16;
+	private static final int BOUND_SHIFT = 24;
+	private static final int AGE_SHIFT = 26;
+	private static final int SOURCE_SHIFT = 34;
+	private static final int DESTINATION_SHIFT = 40;
+
+	//entries are written without locks, a torn or overwritten entry fails the key xor data check and reads as a miss
+	private final long[] table;
+	private final int bucketMask;
+	private int age;
+
+	public TranspositionTable(int sizeInMegabytes) {
+		long buckets = Long.highestOneBit(Math.max(1, (long) sizeInMegabytes * 1024 * 1024 / BYTES_PER_BUCKET));
+		buckets = Math.min(buckets, MAX_BUCKETS);
+		table = new long[(int) buckets * ENTRY_SIZE * BUCKET_SIZE];
+		bucketMask = (int) buckets - 1;
+	}
+
+	public void newSearch() {
+		age = (age + 1) & 0xFF;
+	}
+
+	public void clear() {
+		Arrays.fill(table, 0);
+		age = 0;
+	}
+
+	public long probe(long hash) {
+		int bucket = getBucket(hash);
+		for(int i=0; i<BUCKET_SIZE; i++) {
+			int slot = bucket + i * ENTRY_SIZE;
+			long data = table[slot + 1];
+			if(data != 0 && (table[slot] ^ data) == hash) return data;
+		}
+		return 0; //no entry for the position
+	}
+
+	public void store(long hash, int depth, Bound bound, int score, int bestMoveSource, int bestMoveDestination) {
+		int bucket = getBucket(hash);
+		int replacedSlot = bucket;
+		int lowestValue = Integer.MAX_VALUE;
+
+		for(int i=0; i<BUCKET_SIZE; i++) {
+			int slot = bucket + i * ENTRY_SIZE;
+			long storedData = table[slot + 1];
+
+			if(storedData != 0 && (table[slot] ^ storedData) == hash) { //same position, refresh it
+				if(bestMoveSource == 0) {
+					bestMoveSource = getBestMoveSource(storedData);
+					bestMoveDestination = getBestMoveDestination(storedData);
+				}
+				if(bound != Bound.EXACT && getAge(storedData) == age && getDepth(storedData) > depth) return;
+				replacedSlot = slot;
+				break;
+			}
+
+			//prefer empty entries, then entries from older searches, then the shallowest ones
+			int value = storedData == 0 ? Integer.MIN_VALUE : getDepth(storedData) - 8 * ((age - getAge(storedData)) & 0xFF);
+			if(value < lowestValue) {
+				lowestValue = value;
+				replacedSlot = slot;
+			}
+		}
+
+		score = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, score));
+		long data = (score & 0xFFFFL) |
+				((long) Math.min(depth, 0xFF) << DEPTH_SHIFT) |
+				((long) (bound.ordinal() + 1) << BOUND_SHIFT) |
+				((long) age << AGE_SHIFT) |
+				((long) bestMoveSource << SOURCE_SHIFT) |
+				((long) bestMoveDestination << DESTINATION_SHIFT);
+		table[replacedSlot] = hash ^ data;
+		table[replacedSlot + 1] = data;
+	}
+
+	public int getUsagePermill() {
+		int used = 0;
+		int sampledEntries = Math.min(1000, table.length / ENTRY_SIZE);
+		for(int i=0; i<sampledEntries; i++) {
+			long data = table[i * ENTRY_SIZE + 1];
+			if(data != 0 && getAge(data) == age) used++;
+		}
+		return used * 1000 / sampledEntries;
+	}
+
+	public int getNumberOfEntries() {
+		return table.length / ENTRY_SIZE;
+	}
+
+	private int getBucket(long hash) {
+		return ((int) (hash ^ (hash >>> 32)) & bucketMask) * ENTRY_SIZE * BUCKET_SIZE;
+	}
+
+	public static int getScore(long data) {
+		return (short) data;
+	}
+
+	public static int getDepth(long data) {
+		return (int) (data >>> DEPTH_SHIFT) & 0xFF;
+	}
+
+	public static Bound getBound(long data) {
+		return BOUNDS[(int) (data >>> BOUND_SHIFT & 0x3) - 1];
+	}
+
+	public static int getAge(long data) {
+		return (int) (data >>> AGE_SHIFT) & 0xFF;
+	}
+
+	public static int getBestMoveSource(long data) {
+		return (int) (data >>> SOURCE_SHIFT) & 0x3F;
+	}
+
+	public static int getBestMoveDestination(long data) {
+		return (int) (data >>> DESTINATION_SHIFT) & 0x3F;
+	}
+
+	public enum Bound {
+		EXACT,
+		LOWER,
+		UPPER
+	}
+
+}
@@ -1,6 +1,9 @@
 package draughts.library.managers;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+
+import draughts.library.boardmodel.BitboardPosition;
 import draughts.library.boardmodel.BlackPawn;
 import draughts.library.boardmodel.BlackQueen;
 import draughts.library.boardmodel.Board;
@@ -12,36 +15,85 @@ import draughts.library.exceptions.NoPieceFoundInRequestedTileException;
 import draughts.library.movemodel.Capture;
 import draughts.library.movemodel.Hop;
 import draughts.library.movemodel.Move;
+import draughts.library.movemodel.PackedMove;
 
 public class BoardManager {
 	
 	private Tile[][] board;
+	private Tile[] tiles; //tiles[n] is the playable tile with index n
 	private ArrayList<Piece> whitePieces;
 	private ArrayList<Piece> blackPieces;
+	private Piece[] piecesOnTiles; //piecesOnTiles[n] is the piece standing on tile with index n
+	private BitboardPosition bitboards;
 	private boolean isWhiteQueenOnBoard;
 	private boolean isBlackQueenOnBoard;
 	
 	public BoardManager() {
 		board = new Tile[Board.NUMBER_OF_ROWS][Board.TILES_IN_ROW];
+		tiles = new Tile[Board.PLAYABLE_TILES + 1];
 		whitePieces = new ArrayList<>();
 		blackPieces = new ArrayList<>();
+		piecesOnTiles = new Piece[Board.PLAYABLE_TILES + 1];
+		bitboards = new BitboardPosition();
 		this.isWhiteQueenOnBoard = false;
 		this.isBlackQueenOnBoard = false;
 	}
 	
-	public BoardManager(BoardManager boardManager) {
-		this.board = boardManager.board;
-		this.whitePieces = boardManager.whitePieces;
-		this.blackPieces = boardManager.blackPieces;
+	public BoardManager(BoardManager boardManager) { //deep copy, nothing is shared with the original board
+		this();
+		createEmptyBoard();
+		whitePieces.ensureCapacity(boardManager.whitePieces.size());
+		blackPieces.ensureCapacity(boardManager.blackPieces.size());
+		for(Piece piece : boardManager.whitePieces) { //same order as the original, so move generation gives the same order too
+			createPiece(piece.getPosition().getIndex(), piece.getPosition().getState());
+		}
+		for(Piece piece : boardManager.blackPieces) {
+			createPiece(piece.getPosition().getIndex(), piece.getPosition().getState());
+		}
+		bitboards.copyFrom(boardManager.bitboards); //hash and evaluation are copied instead of rebuilt piece by piece
 		this.isWhiteQueenOnBoard = boardManager.isWhiteQueenOnBoard;
 		this.isBlackQueenOnBoard = boardManager.isBlackQueenOnBoard;
 	}
 	
+	public BoardManager(BitboardPosition position) {
+		this();
+		createEmptyBoard();
+		for(long pieces = position.getWhitePieces() | position.getBlackPieces(); pieces != 0; pieces &= pieces - 1) {
+			int index = Long.numberOfTrailingZeros(pieces);
+			createPiece(index, position.getState(index));
+		}
+		bitboards.copyFrom(position);
+		this.isWhiteQueenOnBoard = position.getWhiteQueens() != 0;
+		this.isBlackQueenOnBoard = position.getBlackQueens() != 0;
+	}
+	
+	//places a piece without touching the bitboards, they are copied as a whole afterwards
+	private void createPiece(int index, Tile.State state) {
+		Tile position = tiles[index];
+		Piece piece;
+		switch(state) {
+			case WHITE_PAWN: piece = new WhitePawn(position);
+			break;
+			case WHITE_QUEEN: piece = new WhiteQueen(position);
+			break;
+			case BLACK_PAWN: piece = new BlackPawn(position);
+			break;
+			default: piece = new BlackQueen(position);
+		}
+		if(piece.isWhite()) whitePieces.add(piece);
+		else 				blackPieces.add(piece);
+		position.setState(state);
+		piecesOnTiles[index] = piece;
+	}
 	
 	public Tile[][] getBoard() {
 		return board;
 	}
 	
+	public Tile[] getTiles() {
+		return tiles;
+	}
+	
 	public ArrayList<Piece> getWhitePieces() {
 		return whitePieces;
 	}
@@ -50,6 +102,18 @@ public class BoardManager {
 		return blackPieces;
 	}
 	
+	public Piece[] getPiecesOnTiles() {
+		return piecesOnTiles;
+	}
+	
+	public BitboardPosition getBitboards() {
+		return bitboards;
+	}
+	
+	public long getZobristHash() {
+		return bitboards.getHash();
+	}
+	
 	public boolean getIsWhiteQueenOnBoard() {
 		return isWhiteQueenOnBoard;
 	}
@@ -75,11 +139,20 @@ public class BoardManager {
 	}
 	
 	public void createEmptyBoard() {
+		bitboards.clear();
+		Arrays.fill(piecesOnTiles, null);
+		whitePieces.clear();
+		blackPieces.clear();
+		isWhiteQueenOnBoard = false;
+		isBlackQueenOnBoard = false;
 		
 		for(int i=0; i<board.length; i++) {
 			for(int j=0; j<board[0].length; j++) {
 				board[i][j] = new Tile(i+1, j+1);
-				if(board[i][j].getIndex() > 0) board[i][j].setState(Tile.State.EMPTY);
+				if(board[i][j].getIndex() > 0) {
+					board[i][j].setState(Tile.State.EMPTY);
+					tiles[board[i][j].getIndex()] = board[i][j];
+				}
 				else board[i][j].setState(Tile.State.WHITE_TILE);
 			}
 		}
@@ -142,6 +215,8 @@ public class BoardManager {
 				position.setState(Tile.State.BLACK_PAWN);
 			}
 		}
+		bitboards.addPiece(position.getIndex(), position.getState());
+		piecesOnTiles[position.getIndex()] = piece;
 	}
 
 
@@ -149,19 +224,21 @@ public class BoardManager {
 		boolean wasQueen = piece.isQueen();
 		ArrayList<Piece> pieces = piece.isWhite() ? whitePieces : blackPieces;
 
+		bitboards.removePiece(piece.getPosition().getIndex());
+		piecesOnTiles[piece.getPosition().getIndex()] = null;
 		piece.getPosition().setState(Tile.State.EMPTY);
 		pieces.remove(piece);
 
 		if(wasQueen) {
-			for(Piece somePiece : pieces) {
-				if (somePiece.isQueen()) return;
-			}
-			if (piece.isWhite()) isWhiteQueenOnBoard = false;
-			else 				 isBlackQueenOnBoard = false;
+			if (piece.isWhite()) isWhiteQueenOnBoard = bitboards.getWhiteQueens() != 0;
+			else 				 isBlackQueenOnBoard = bitboards.getBlackQueens() != 0;
 		}
 	}
 	
 	public void makeHop(Piece movedPiece, Tile destination) {
+		bitboards.movePiece(movedPiece.getPosition().getIndex(), destination.getIndex());
+		piecesOnTiles[movedPiece.getPosition().getIndex()] = null;
+		piecesOnTiles[destination.getIndex()] = movedPiece;
 		movedPiece.getPosition().setState(Tile.State.EMPTY);	
 		movedPiece.hop(destination);
 		
@@ -222,6 +299,45 @@ public class BoardManager {
 		}
 	}
 	
+	//same result as makeWholeMove, but the move stays untouched, everything needed to take it back goes to the stack
+	public void makeMove(long packedMove, UndoStack undoStack) {
+		Piece movingPiece = piecesOnTiles[PackedMove.getSource(packedMove)];
+		undoStack.push(packedMove, (isWhiteQueenOnBoard ? 1 : 0) | (isBlackQueenOnBoard ? 2 : 0));
+
+		for(long taken = PackedMove.getTakenTiles(packedMove); taken != 0; taken &= taken - 1) {
+			Piece takenPiece = piecesOnTiles[Long.numberOfTrailingZeros(taken)];
+			undoStack.addTakenPiece(takenPiece);
+			removePieceFromBoard(takenPiece);
+		}
+		makeHop(movingPiece, tiles[PackedMove.getDestination(packedMove)]);
+		if(PackedMove.isPromotion(packedMove)) {
+			undoStack.setPromotedPawn(movingPiece);
+			Piece queen = undoStack.getPromotedQueen();
+			if(queen == null || queen.isWhite() != movingPiece.isWhite()) { //promoting on this ply for the first time
+				undoStack.setPromotedQueen(promotePawn(movingPiece));
+			}
+			else { //queen from an earlier promotion on this ply, already taken back
+				removePieceFromBoard(movingPiece);
+				queen.setPosition(movingPiece.getPosition());
+				placePieceOnBoard(queen);
+			}
+		}
+	}
+
+	public void unmakeMove(UndoStack undoStack) {
+		long packedMove = undoStack.peekMove();
+		int destination = PackedMove.getDestination(packedMove);
+
+		if(PackedMove.isPromotion(packedMove)) demoteQueen(piecesOnTiles[destination], undoStack.getPromotedPawn());
+		makeHop(piecesOnTiles[destination], tiles[PackedMove.getSource(packedMove)]);
+		for(int i=undoStack.getTakenPiecesStart(); i<undoStack.getTakenPiecesEnd(); i++) {
+			placePieceOnBoard(undoStack.getTakenPiece(i));
+		}
+		isWhiteQueenOnBoard = (undoStack.getQueenFlags() & 1) != 0;
+		isBlackQueenOnBoard = (undoStack.getQueenFlags() & 2) != 0;
+		undoStack.pop();
+	}
+
 	public Piece promotePawn(Piece pawnToPromote) {
 		Piece newQueen;
 		removePieceFromBoard(pawnToPromote);
@@ -239,25 +355,13 @@ public class BoardManager {
 	}
 	
 	public Tile findTileByIndex(int tileIndex) {
-		for (int i=0; i<board.length; i++) {
-			for(int j=0; j<board[0].length; j++) {
-				if(board[i][j].getIndex() == tileIndex)
-					return board[i][j];
-			}
-		}
-		return null;
+		if(tileIndex < 1 || tileIndex > Board.PLAYABLE_TILES) return null;
+		return tiles[tileIndex];
 	}
 	
 	public Piece findPieceByIndex(int tileIndex) throws NoPieceFoundInRequestedTileException {
-		ArrayList<Piece> pieces = new ArrayList<>();
-		
-		pieces.addAll(whitePieces);
-		pieces.addAll(blackPieces);
-		
-		for(Piece piece : pieces) {
-			if(piece.getPosition().getIndex() == tileIndex)
-				return piece;
-		}
+		if(tileIndex >= 1 && tileIndex <= Board.PLAYABLE_TILES && piecesOnTiles[tileIndex] != null)
+			return piecesOnTiles[tileIndex];
 		
 		throw new NoPieceFoundInRequestedTileException("No piece found in tile: " + tileIndex);		
 	}
@@ -276,29 +380,7 @@ public class BoardManager {
 	}
 
 	public boolean isAnyMovePossible(boolean isWhiteToMove) {
-		ArrayList<Piece> pieces;
-		ArrayList<Piece> oppositePieces;
-		if (isWhiteToMove) {
-			pieces = whitePieces;
-			oppositePieces = blackPieces;
-		}
-		else 			   {
-			pieces = blackPieces;
-			oppositePieces = whitePieces;
-		}
-
-		ArrayList<Move<Hop>> pieceMoves;
-		ArrayList<Capture> pieceCaptures;
-		for(Piece piece : pieces) {
-			pieceCaptures = piece.findCaptures(board, oppositePieces);
-			if (pieceCaptures.size() > 0) return true;
-			else {
-				pieceMoves = piece.findMoves(board);
-				if (pieceMoves.size() > 0) return true;
-			}
-		}
-
-		return false;
+		return bitboards.isAnyMovePossible(isWhiteToMove);
 	}
 	
 	public ArrayList<Move<Capture>> findCapturesForAllPieces(boolean isWhiteToMove) {
@@ -309,7 +391,7 @@ public class BoardManager {
 		int longestConsecutiveCapture = 1;
 		
 		for(Piece piece : pieces) {
-			pieceMoves = findLongestConsecutiveCaptures(piece);
+			pieceMoves = findLongestConsecutiveCaptures(piece, longestConsecutiveCapture);
 			if(pieceMoves.size() > 0)
 				if(pieceMoves.get(0).getNumberOfHops() > longestConsecutiveCapture) {
 					allMoves.clear();
@@ -323,65 +405,84 @@ public class BoardManager {
 		return allMoves;
 	}
 	
-	public ArrayList<Move<Capture>> findLongestConsecutiveCaptures(Piece piece) {		
-		ArrayList<Capture> captures;
+	public ArrayList<Move<Capture>> findLongestConsecutiveCaptures(Piece piece) {
+		return findLongestConsecutiveCaptures(piece, 1);
+	}
+	
+	//captures shorter than minimumLength are not returned, so the search can skip them
+	public ArrayList<Move<Capture>> findLongestConsecutiveCaptures(Piece piece, int minimumLength) {
 		ArrayList<Move<Capture>> moves = new ArrayList<>();
-		ArrayList<Move<Capture>> newMoves = new ArrayList<>();
-		
-		ArrayList<Piece> oppositePieces;
-		if (piece.isWhite()) oppositePieces = blackPieces;
-		else 				 oppositePieces = whitePieces;
+		long oppositePieces = piece.isWhite() ? bitboards.getBlackPieces() : bitboards.getWhitePieces();
+		findCapturesDepthFirst(piece, new ArrayList<>(), 0, oppositePieces, Math.max(minimumLength, 1), moves);
+		return moves;
+	}
+	
+	//taken pieces stay on the board until the move ends, they are only marked in takenTiles
+	private int findCapturesDepthFirst(Piece piece, ArrayList<Capture> path, long takenTiles, long oppositePieces,
+									   int longestCapture, ArrayList<Move<Capture>> moves) {
+		if(path.size() + Long.bitCount(oppositePieces & ~takenTiles) < longestCapture) return longestCapture; //cannot get long enough
 		
-		do  {
-						
-			if(moves.size() == 0) { //first capture 
-				captures = piece.findCaptures(board, oppositePieces);
-				if(captures.size() == 0) break; //no captures available for piece
-				else {
-					for(Capture capture : captures) {
-						newMoves.add(new Move<>(piece, capture));
-					}
-				}
-			}
-			else { //consecutive captures
-				newMoves.clear();
-
-				for(int i=0; i<moves.size(); i++) {
-					for(int j=0; j<moves.get(i).getNumberOfHops(); j++) {
-						makeHop(piece, moves.get(i).getHop(j).getDestination());
-					}
-					captures = piece.findCaptures(board, oppositePieces);
-					for(Capture capture: captures) {
-						if(!isPawnAlreadyTaken(moves.get(i), capture)) { //cannot take the same pawn twice
-							newMoves.add(new Move<>(moves.get(i)));
-							newMoves.get(newMoves.size()-1).addHop(capture);
-						}			
-					}
-					for(int j=moves.get(i).getNumberOfHops()-1; j>=0; j--) {
-						makeHop(piece, moves.get(i).getHop(j).getSource());
-					}
-				}
-			}		
+		boolean isExtended = false;
+		for(Capture capture : piece.findCaptures(board, piecesOnTiles)) {
+			long takenTile = BitboardPosition.tileMask(capture.getTakenPiece().getPosition().getIndex());
+			if((takenTiles & takenTile) != 0) continue; //cannot take the same pawn twice
+			isExtended = true;
 			
-			if(newMoves.size() > 0) {
-				moves.clear();
-				moves.addAll(newMoves);
+			path.add(capture);
+			makeHop(piece, capture.getDestination());
+			longestCapture = findCapturesDepthFirst(piece, path, takenTiles | takenTile, oppositePieces, longestCapture, moves);
+			makeHop(piece, capture.getSource());
+			path.remove(path.size()-1);
+		}
+		
+		if(!isExtended && path.size() >= longestCapture) { //only sequences of the longest length so far are created
+			if(path.size() > longestCapture) moves.clear();
+			else if(isCaptureFound(moves, piece.getPosition(), takenTiles)) return longestCapture; //same pieces taken on another route
+			longestCapture = path.size();
+			Move<Capture> move = new Move<>(piece, path.get(0));
+			for(int i=1; i<path.size(); i++) {
+				move.addHop(path.get(i));
 			}
-			
-		} while (newMoves.size() != 0 );
-	
-	return moves;
+			moves.add(move);
+		}
+		return longestCapture;
 	}
 	
 	
-	private boolean isPawnAlreadyTaken(Move<Capture> move, Capture capture) {
-		for(int i=0; i<move.getNumberOfHops(); i++) {
-			if(move.getHop(i).getTakenPiece() == capture.getTakenPiece())
-				return true;
+	private static boolean isCaptureFound(ArrayList<Move<Capture>> moves, Tile destination, long takenTiles) {
+		for(Move<Capture> move : moves) {
+			if(move.getMoveDestination().getIndex() != destination.getIndex()) continue;
+			long moveTakenTiles = 0; //moves are not classified yet, so getMoveTakenTiles would see no capture
+			for(Capture capture : move.getHops()) {
+				moveTakenTiles |= BitboardPosition.tileMask(capture.getTakenPiece().getPosition().getIndex());
+			}
+			if(moveTakenTiles == takenTiles) return true;
 		}
 		return false;
 	}
-
+	
+	public Move<? extends Hop> createMove(long packedMove) {
+		Piece piece = piecesOnTiles[PackedMove.getSource(packedMove)];
+		Move<? extends Hop> move = null;
+		
+		if(!PackedMove.isCapture(packedMove)) {
+			move = new Move<>(piece, new Hop(piece.getPosition(), tiles[PackedMove.getDestination(packedMove)]));
+		}
+		else { //packed captures do not keep the path, so it is looked up among the piece's captures
+			for(Move<Capture> capture : findLongestConsecutiveCaptures(piece)) {
+				capture.classify();
+				if(PackedMove.getTakenTiles(PackedMove.encode(capture)) == PackedMove.getTakenTiles(packedMove) &&
+				   capture.doesDestinationMatch(PackedMove.getDestination(packedMove))) {
+					move = capture;
+					break;
+				}
+			}
+		}
+		
+		if(move != null) move.classify();
+		return move;
+	}
+	
 	public void printBoard() {
 		for (int i=0; i<board.length; i++) {
 			for (int j=0; j<board[i].length; j++) {
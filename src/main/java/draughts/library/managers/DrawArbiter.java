@@ -1,13 +1,67 @@
 package draughts.library.managers;
 
+import java.util.Arrays;
+
 public class DrawArbiter {
 	
+	private static final int INITIAL_HISTORY_SIZE = 128;
+	private static final int INITIAL_STACK_SIZE = 128;
+	private static final int COPY_SPARE_SIZE = 16; //room for a few moves before a copied history has to grow
+	
+	//packed state: bits 0-7 draw counter, bits 8-10 draw conditions, bits 11-34 repetition anchor, bits 35-58 history end
+	private static final int CONDITIONS_SHIFT = 8;
+	private static final int ANCHOR_SHIFT = 11;
+	private static final int END_SHIFT = 35;
+	private static final long COUNTER_MASK = 0xFF;
+	private static final long CONDITIONS_MASK = 0x7;
+	private static final long HISTORY_INDEX_MASK = 0xFFFFFF;
+	private static final DrawConditions[] CONDITIONS = DrawConditions.values();
+	
 	private int drawCounter;
 	private DrawConditions drawConditions;
+	private long[] positionHistory; //hashes of all positions, entries before the anchor can never repeat
+	private int repetitionAnchor; //first position after the last irreversible move
+	private int positionHistoryEnd;
+	private long[] stateStack; //states saved by pushState, for search and what-if analysis, created on first use
+	private int stateStackSize;
 	
 	public DrawArbiter() {
 		this.drawCounter = 50; //25 moves for each player
 		this.drawConditions = DrawConditions.NONE;
+		this.positionHistory = new long[INITIAL_HISTORY_SIZE];
+	}
+	
+	public DrawArbiter(DrawArbiter drawArbiter) {
+		this.drawCounter = drawArbiter.drawCounter;
+		this.drawConditions = drawArbiter.drawConditions;
+		//only positions since the anchor can repeat, so the copy starts its history there
+		this.positionHistory = Arrays.copyOfRange(drawArbiter.positionHistory, drawArbiter.repetitionAnchor,
+				drawArbiter.positionHistoryEnd + COPY_SPARE_SIZE);
+		this.repetitionAnchor = 0;
+		this.positionHistoryEnd = drawArbiter.positionHistoryEnd - drawArbiter.repetitionAnchor;
+	}
+	
+	public long getState() {
+		return (drawCounter & COUNTER_MASK) | (long) drawConditions.ordinal() << CONDITIONS_SHIFT |
+			   (long) repetitionAnchor << ANCHOR_SHIFT | (long) positionHistoryEnd << END_SHIFT;
+	}
+	
+	//history is only appended to, so the entries a saved state points to are still there when it is restored
+	public void setState(long state) {
+		drawCounter = (int) (state & COUNTER_MASK);
+		drawConditions = CONDITIONS[(int) ((state >>> CONDITIONS_SHIFT) & CONDITIONS_MASK)];
+		repetitionAnchor = (int) ((state >>> ANCHOR_SHIFT) & HISTORY_INDEX_MASK);
+		positionHistoryEnd = (int) ((state >>> END_SHIFT) & HISTORY_INDEX_MASK);
+	}
+	
+	public void pushState() {
+		if(stateStack == null) stateStack = new long[INITIAL_STACK_SIZE];
+		else if(stateStackSize == stateStack.length) stateStack = Arrays.copyOf(stateStack, stateStack.length * 2);
+		stateStack[stateStackSize++] = getState();
+	}
+	
+	public void popState() {
+		setState(stateStack[--stateStackSize]);
 	}
 	
 	public int getDrawCounter() {
@@ -89,12 +143,12 @@ public class DrawArbiter {
 		switch(drawConditions) {
 			case THREE_VS_ONE:
 			case TWO_VS_ONE:
-				drawCounter--;
+				if(drawCounter > 0) drawCounter--; //game is already drawn at 0, moves after that do not count
 				break;
 				
 			case NORMAL:
 				if(isMoveCapture || !isMoveMadeByQueen) drawCounter = 50;
-				else drawCounter--;
+				else if(drawCounter > 0) drawCounter--;
 				break;
 				
 			default: break;	
@@ -102,8 +156,26 @@ public class DrawArbiter {
 	}
 	
 	
+	public void updatePositionHistory(long positionHash, boolean isMoveIrreversible) {
+		if(isMoveIrreversible) repetitionAnchor = positionHistoryEnd; //no earlier position can ever appear again
+		
+		int repetitions = 1;
+		for(int i=positionHistoryEnd-2; i>=repetitionAnchor; i-=2) { //positions with the same side to move are two plies apart
+			if(positionHistory[i] == positionHash) repetitions++;
+		}
+		
+		if(positionHistoryEnd == positionHistory.length) positionHistory = Arrays.copyOf(positionHistory, positionHistory.length * 2);
+		positionHistory[positionHistoryEnd++] = positionHash;
+		
+		if(repetitions >= 3) drawConditions = DrawConditions.POSITION_REPEATED_THRICE;
+	}
+	
+	public int getPositionHistoryLength() {
+		return positionHistoryEnd - repetitionAnchor;
+	}
+	
 	public boolean isGameDrawn() {
-		return drawCounter == 0;
+		return drawCounter <= 0 || drawConditions == DrawConditions.POSITION_REPEATED_THRICE;
 	}
 	
 	public enum DrawConditions {
@@ -1,8 +1,11 @@
 package draughts.library.managers;
 
 import draughts.library.boardmodel.Piece;
+import draughts.library.boardmodel.Tile;
+import draughts.library.boardmodel.Zobrist;
 import draughts.library.movemodel.Hop;
 import draughts.library.movemodel.Move;
+import draughts.library.movemodel.PackedMove;
 
 public class GameEngine {
 	
@@ -11,11 +14,28 @@ public class GameEngine {
 	private GameState gameState;
 	private DrawArbiter drawArbiter;
 	private final BoardManager boardManager;
+	private final UndoStack undoStack;
 
 	public GameEngine() {
-		boardManager = new BoardManager();
-		moveManager = new MoveManager();
-		drawArbiter = new DrawArbiter();
+		this(new BoardManager(), new DrawArbiter(), false, null);
+	}
+	
+	public GameEngine(GameEngine gameEngine) { //deep copy, for analysis that must not touch the game
+		this(new BoardManager(gameEngine.boardManager), new DrawArbiter(gameEngine.drawArbiter),
+			 gameEngine.isWhiteToMove, gameEngine.gameState);
+	}
+	
+	GameEngine(BoardManager boardManager, DrawArbiter drawArbiter, boolean isWhiteToMove, GameState gameState) {
+		this.boardManager = boardManager;
+		this.moveManager = new MoveManager();
+		this.drawArbiter = drawArbiter;
+		this.undoStack = new UndoStack();
+		this.isWhiteToMove = isWhiteToMove;
+		this.gameState = gameState;
+	}
+	
+	public PositionSnapshot createSnapshot() {
+		return new PositionSnapshot(this);
 	}
 	
 	public boolean getIsWhiteToMove() {
@@ -26,6 +46,10 @@ public class GameEngine {
 		this.isWhiteToMove = isWhiteToMove;
 	}
 
+	public long getPositionHash() {
+		return boardManager.getZobristHash() ^ Zobrist.getSideToMoveKey(isWhiteToMove);
+	}
+
 	public MoveManager getMoveManager() {
 		return moveManager;
 	}
@@ -34,6 +58,10 @@ public class GameEngine {
 		return boardManager;
 	}
 	
+	public UndoStack getUndoStack() {
+		return undoStack;
+	}
+	
 	public GameState getGameState() {
 		return gameState;
 	}
@@ -42,7 +70,10 @@ public class GameEngine {
 		return drawArbiter;
 	}
 
-	public void setDrawArbiter(DrawArbiter drawArbiter) { this.drawArbiter = drawArbiter; }
+	public void setDrawArbiter(DrawArbiter drawArbiter) {
+		this.drawArbiter = drawArbiter;
+		recordFirstPosition(getPositionHash());
+	}
 	
 	public void setGameState(GameState gameState) {
 		this.gameState = gameState;
@@ -53,23 +84,79 @@ public class GameEngine {
 		boardManager.createStartingPosition();
 		gameState = GameState.RUNNING;
 		isWhiteToMove = true;
+		drawArbiter.updatePositionHistory(getPositionHash(), true);
 	}
 
 	public void finishMove(Move<? extends Hop> move) {
+		recordFirstPosition(getPositionHashBeforeMove(move));
 		updateDrawArbiter(move);
 		checkGameState();
 		endPlayerTurn();
 	}
 	
+	//reversible version of making a move and calling finishMove
+	public void makeMove(long packedMove) {
+		long drawArbiterState = drawArbiter.getState(); //taken before the first position is recorded, unmakeMove drops it again
+		recordFirstPosition(getPositionHash());
+		boolean isMoveMadeByQueen = boardManager.getPiecesOnTiles()[PackedMove.getSource(packedMove)].isQueen();
+		boardManager.makeMove(packedMove, undoStack);
+		undoStack.setGameState(drawArbiterState, gameState);
+		drawArbiter.updateCounter(PackedMove.isCapture(packedMove), isMoveMadeByQueen);
+		drawArbiter.updateConditions((boardManager.getIsWhiteQueenOnBoard() && boardManager.getIsBlackQueenOnBoard()),
+								 boardManager.getWhitePieces().size(), boardManager.getBlackPieces().size());
+		drawArbiter.updatePositionHistory(boardManager.getZobristHash() ^ Zobrist.getSideToMoveKey(!isWhiteToMove),
+								 PackedMove.isCapture(packedMove) || PackedMove.isPromotion(packedMove) || !isMoveMadeByQueen);
+		checkGameState();
+		endPlayerTurn();
+	}
+
+	public void unmakeMove() {
+		drawArbiter.setState(undoStack.getDrawArbiterState());
+		gameState = undoStack.getGameState();
+		boardManager.unmakeMove(undoStack);
+		endPlayerTurn();
+	}
+	
+	//games set up through BoardManager or copied before startGame have no history, their first position is recorded here
+	private void recordFirstPosition(long positionHash) {
+		if(drawArbiter.getPositionHistoryLength() == 0) drawArbiter.updatePositionHistory(positionHash, true);
+	}
+	
+	//finishMove comes after makeWholeMove, so the moved and taken pieces are put back into the hash
+	private long getPositionHashBeforeMove(Move<? extends Hop> move) {
+		int destination = move.getMoveDestination().getIndex();
+		Piece movedPiece = move.getOldMovingPiece() != null ? move.getOldMovingPiece() : move.getMovingPiece();
+		long hash = getPositionHash() ^ Zobrist.getKey(boardManager.findTileByIndex(destination).getState(), destination) ^
+					Zobrist.getKey(getState(movedPiece), move.getMoveSource().getIndex());
+		for(Piece takenPiece : move.getMoveTakenPawns()) {
+			hash ^= Zobrist.getKey(getState(takenPiece), takenPiece.getPosition().getIndex());
+		}
+		return hash;
+	}
+	
+	private static Tile.State getState(Piece piece) {
+		if(piece.isWhite()) return piece.isQueen() ? Tile.State.WHITE_QUEEN : Tile.State.WHITE_PAWN;
+		return piece.isQueen() ? Tile.State.BLACK_QUEEN : Tile.State.BLACK_PAWN;
+	}
+	
 	public void endPlayerTurn() {
 		isWhiteToMove = !isWhiteToMove;
 		moveManager.getPossibleMoves().clear();
 	}
 	
 	public void updateDrawArbiter(Move<? extends Hop> move) {
-		drawArbiter.updateCounter(move.isCapture(), move.getMovingPiece().isQueen());
+		boolean isMoveMadeByQueen = isMoveMadeByQueen(move);
+		drawArbiter.updateCounter(move.isCapture(), isMoveMadeByQueen);
 		drawArbiter.updateConditions((boardManager.getIsWhiteQueenOnBoard() && boardManager.getIsBlackQueenOnBoard()), 
 								 boardManager.getWhitePieces().size(), boardManager.getBlackPieces().size());
+		drawArbiter.updatePositionHistory(boardManager.getZobristHash() ^ Zobrist.getSideToMoveKey(!isWhiteToMove), 
+								 move.isCapture() || move.isPromotion() || !isMoveMadeByQueen);
+	}
+	
+	//piece before the move, as in makeMove(long), makeWholeMove has already swapped a promoted pawn for its queen
+	private static boolean isMoveMadeByQueen(Move<? extends Hop> move) {
+		Piece movedPiece = move.getOldMovingPiece() != null ? move.getOldMovingPiece() : move.getMovingPiece();
+		return movedPiece.isQueen();
 	}
 	
 	public void checkGameState() {
@@ -0,0 +1,141 @@
+package draughts.library.managers;
+
+import draughts.library.boardmodel.BitboardPosition;
+import draughts.library.boardmodel.Board;
+import draughts.library.boardmodel.Piece.MoveDirection;
+import draughts.library.movemodel.MoveBuffer;
+import draughts.library.movemodel.PackedMove;
+
+public class MoveGenerator {
+
+	private static final MoveDirection[] DIRECTIONS = MoveDirection.values();
+	private static final MoveDirection[] WHITE_PAWN_DIRECTIONS = {MoveDirection.UP_LEFT, MoveDirection.UP_RIGHT};
+	private static final MoveDirection[] BLACK_PAWN_DIRECTIONS = {MoveDirection.DOWN_LEFT, MoveDirection.DOWN_RIGHT};
+
+	//state of the capture search currently running, kept in fields so the recursion allocates nothing
+	private MoveBuffer buffer;
+	private boolean isWhiteMoving;
+	private long oppositePieces;
+	private long emptyTiles;
+	private int source;
+	private int longestCapture;
+
+	public int generateMoves(BitboardPosition position, boolean isWhiteToMove, MoveBuffer buffer) {
+		generateCaptures(position, isWhiteToMove, buffer);
+		if(buffer.isEmpty()) generateSteps(position, isWhiteToMove, buffer);
+		return buffer.size();
+	}
+
+	public int generateSteps(BitboardPosition position, boolean isWhiteToMove, MoveBuffer buffer) {
+		buffer.clear();
+		long empty = position.getEmptyTiles();
+		long pawns = isWhiteToMove ? position.getWhitePawns() : position.getBlackPawns();
+		long queens = isWhiteToMove ? position.getWhiteQueens() : position.getBlackQueens();
+		MoveDirection[] pawnDirections = isWhiteToMove ? WHITE_PAWN_DIRECTIONS : BLACK_PAWN_DIRECTIONS;
+
+		while(pawns != 0) {
+			int index = Long.numberOfTrailingZeros(pawns);
+			pawns &= pawns - 1;
+			for(MoveDirection direction : pawnDirections) {
+				int target = Board.getNeighbour(index, direction);
+				if(target != 0 && (empty & BitboardPosition.tileMask(target)) != 0)
+					buffer.add(PackedMove.encode(index, target, 0, isPromotionTile(target, isWhiteToMove)));
+			}
+		}
+
+		while(queens != 0) {
+			int index = Long.numberOfTrailingZeros(queens);
+			queens &= queens - 1;
+			for(MoveDirection direction : DIRECTIONS) {
+				for(int target : Board.getRay(index, direction)) {
+					if((empty & BitboardPosition.tileMask(target)) == 0) break;
+					buffer.add(PackedMove.encode(index, target, 0, false));
+				}
+			}
+		}
+		return buffer.size();
+	}
+
+	public int generateCaptures(BitboardPosition position, boolean isWhiteToMove, MoveBuffer buffer) {
+		buffer.clear();
+		this.buffer = buffer;
+		this.isWhiteMoving = isWhiteToMove;
+		this.oppositePieces = isWhiteToMove ? position.getBlackPieces() : position.getWhitePieces();
+		this.longestCapture = 1;
+
+		long pawns = isWhiteToMove ? position.getWhitePawns() : position.getBlackPawns();
+		long queens = isWhiteToMove ? position.getWhiteQueens() : position.getBlackQueens();
+		long empty = position.getEmptyTiles();
+
+		while(pawns != 0) {
+			source = Long.numberOfTrailingZeros(pawns);
+			pawns &= pawns - 1;
+			emptyTiles = empty | BitboardPosition.tileMask(source); //moving piece leaves its tile
+			findPawnCaptures(source, 0, 0);
+		}
+		while(queens != 0) {
+			source = Long.numberOfTrailingZeros(queens);
+			queens &= queens - 1;
+			emptyTiles = empty | BitboardPosition.tileMask(source);
+			findQueenCaptures(source, 0, 0);
+		}
+
+		this.buffer = null;
+		return buffer.size();
+	}
+
+	private void findPawnCaptures(int current, long takenTiles, int numberOfCaptures) {
+		if(numberOfCaptures + Long.bitCount(oppositePieces & ~takenTiles) < longestCapture) return; //cannot reach longest capture anymore
+
+		boolean isCaptureContinued = false;
+		for(MoveDirection direction : DIRECTIONS) {
+			int landing = Board.getJumpLanding(current, direction);
+			if(landing == 0) continue;
+			long taken = BitboardPosition.tileMask(Board.getNeighbour(current, direction));
+
+			if((oppositePieces & ~takenTiles & taken) != 0 && (emptyTiles & BitboardPosition.tileMask(landing)) != 0) {
+				isCaptureContinued = true;
+				findPawnCaptures(landing, takenTiles | taken, numberOfCaptures + 1);
+			}
+		}
+		if(!isCaptureContinued) addCapture(current, takenTiles, numberOfCaptures, isPromotionTile(current, isWhiteMoving));
+	}
+
+	private void findQueenCaptures(int current, long takenTiles, int numberOfCaptures) {
+		if(numberOfCaptures + Long.bitCount(oppositePieces & ~takenTiles) < longestCapture) return;
+
+		boolean isCaptureContinued = false;
+		for(MoveDirection direction : DIRECTIONS) {
+			int[] ray = Board.getRay(current, direction);
+			int i = 0;
+			while(i < ray.length && (emptyTiles & BitboardPosition.tileMask(ray[i])) != 0) i++;
+			if(i == ray.length) continue;
+
+			long taken = BitboardPosition.tileMask(ray[i]);
+			if((oppositePieces & ~takenTiles & taken) == 0) continue; //own piece or piece already taken blocks the way
+			for(i++; i < ray.length && (emptyTiles & BitboardPosition.tileMask(ray[i])) != 0; i++) {
+				isCaptureContinued = true;
+				findQueenCaptures(ray[i], takenTiles | taken, numberOfCaptures + 1);
+			}
+		}
+		if(!isCaptureContinued) addCapture(current, takenTiles, numberOfCaptures, false);
+	}
+
+	private void addCapture(int destination, long takenTiles, int numberOfCaptures, boolean promotion) {
+		if(numberOfCaptures < longestCapture) return;
+		if(numberOfCaptures > longestCapture) {
+			buffer.clear();
+			longestCapture = numberOfCaptures;
+		}
+		long packedMove = PackedMove.encode(source, destination, takenTiles, promotion);
+		for(int i=0; i<buffer.size(); i++) {
+			if(buffer.get(i) == packedMove) return; //same pieces taken on another route count as one move
+		}
+		buffer.add(packedMove);
+	}
+
+	private boolean isPromotionTile(int index, boolean isWhite) {
+		return isWhite ? index <= Board.TILES_IN_ROW/2 : index > Board.PLAYABLE_TILES - Board.TILES_IN_ROW/2;
+	}
+
+}
@@ -1,26 +1,40 @@
 package draughts.library.managers;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.HashMap;
 
-import draughts.library.boardmodel.Piece;
-import draughts.library.boardmodel.Tile;
+import draughts.library.boardmodel.BitboardPosition;
+import draughts.library.boardmodel.Board;
+import draughts.library.exceptions.NoCorrectMovesForSelectedPieceException;
 import draughts.library.exceptions.WrongMoveException;
 import draughts.library.movemodel.Hop;
 import draughts.library.movemodel.Move;
+import draughts.library.movemodel.PackedMove;
 
 public class MoveManager {
-	
-	private ArrayList<Move<? extends Hop>> possibleMoves;
-	
+
+	private final MoveList possibleMoves;
+
+	//lookup tables over possibleMoves, built on the first lookup after the moves change
+	private final HashMap<Integer, ArrayList<Move<? extends Hop>>> movesBySource;
+	private final HashMap<Long, ArrayList<Move<? extends Hop>>> movesBySourceAndDestination;
+	private final HashMap<Long, Move<? extends Hop>> movesByTakenTiles; //keyed by source, destination and taken tiles, which no two moves share
+	private final HashMap<Integer, ArrayList<Integer>> destinationsBySource;
+	private int indexedModifications; //modifications of possibleMoves the index was built after
+
 	public MoveManager() {
-		possibleMoves = new ArrayList<>();
+		possibleMoves = new MoveList();
+		movesBySource = new HashMap<>();
+		movesBySourceAndDestination = new HashMap<>();
+		movesByTakenTiles = new HashMap<>();
+		destinationsBySource = new HashMap<>();
+		indexedModifications = -1;
 	}
-	
+
 	public ArrayList<Move<? extends Hop>> getPossibleMoves() {
 		return possibleMoves;
 	}
-	
+
 	public ArrayList<Move<? extends Hop>> findAllCorrectMoves(BoardManager boardManager, boolean isWhiteToMove) {
 		possibleMoves.addAll(boardManager.findCapturesForAllPieces(isWhiteToMove));
 		if(possibleMoves.size() == 0)
@@ -28,19 +42,91 @@ public class MoveManager {
 		for (Move<? extends Hop> move : possibleMoves) {
 			move.classify();
 		}
-		return possibleMoves;
+		return possibleMoves; //search only iterates the list, so the index is left for the first lookup
 	}
 
 	public Move<? extends Hop> convertToMove(int source, int destination, ArrayList<Integer> takenPawns)
 	throws WrongMoveException {
-		for(Move<? extends Hop> move : possibleMoves) {
-			if(move.doesSourceMatch(source) &&
-			   move.doesDestinationMatch(destination) &&
-			   move.doesTakenPawnsMatch(takenPawns))
-			   		return move;
+		updateIndex();
+		long takenTiles = 0;
+		for(int takenPawn : takenPawns) {
+			takenTiles |= BitboardPosition.tileMask(takenPawn);
 		}
+		Move<? extends Hop> move = movesByTakenTiles.get(getKey(source, destination, takenTiles));
+		if(move != null && takenPawns.size() == Long.bitCount(takenTiles)) return move; //taken pawns may be given in the order of any route
 		throw new WrongMoveException("Chosen move (" + source + " -> " + destination +
 									 " " + takenPawns + " is not allowed!");
 	}
 
+	public ArrayList<Move<? extends Hop>> findMovesForPiece(int source) throws NoCorrectMovesForSelectedPieceException {
+		updateIndex();
+		ArrayList<Move<? extends Hop>> moves = movesBySource.get(source);
+		if(moves == null)
+			throw new NoCorrectMovesForSelectedPieceException("Piece on tile " + source + " has no correct moves!");
+		return moves;
+	}
+
+	public ArrayList<Move<? extends Hop>> findMovesForPiece(int source, int destination) {
+		updateIndex();
+		ArrayList<Move<? extends Hop>> moves = movesBySourceAndDestination.get(getKey(source, destination, 0));
+		return moves != null ? moves : new ArrayList<>();
+	}
+
+	public ArrayList<Integer> findCorrectDestinations(int source) throws NoCorrectMovesForSelectedPieceException {
+		updateIndex();
+		ArrayList<Integer> destinations = destinationsBySource.get(source);
+		if(destinations == null)
+			throw new NoCorrectMovesForSelectedPieceException("Piece on tile " + source + " has no correct moves!");
+		return destinations;
+	}
+
+	public boolean isCorrectDestination(int source, int destination) {
+		updateIndex();
+		return movesBySourceAndDestination.containsKey(getKey(source, destination, 0));
+	}
+
+	private void updateIndex() {
+		if(indexedModifications == possibleMoves.getModifications()) return; //counts changes made through getPossibleMoves too
+		movesBySource.clear();
+		movesBySourceAndDestination.clear();
+		movesByTakenTiles.clear();
+		destinationsBySource.clear();
+		for(Move<? extends Hop> move : possibleMoves) {
+			int source = move.getMoveSource().getIndex();
+			int destination = move.getMoveDestination().getIndex();
+			movesBySource.computeIfAbsent(source, key -> new ArrayList<>()).add(move);
+			ArrayList<Move<? extends Hop>> sameDestinationMoves = movesBySourceAndDestination.get(getKey(source, destination, 0));
+			if(sameDestinationMoves == null) { //several captures can share source and destination
+				sameDestinationMoves = new ArrayList<>();
+				movesBySourceAndDestination.put(getKey(source, destination, 0), sameDestinationMoves);
+				destinationsBySource.computeIfAbsent(source, key -> new ArrayList<>()).add(destination);
+			}
+			sameDestinationMoves.add(move);
+			movesByTakenTiles.put(getKey(source, destination, move.getMoveTakenTiles()), move);
+		}
+		indexedModifications = possibleMoves.getModifications();
+	}
+
+	private static long getKey(int source, int destination, long takenTiles) {
+		if(source < 1 || source > Board.PLAYABLE_TILES || destination < 1 || destination > Board.PLAYABLE_TILES)
+			return -1; //no move has this key, and out of range indexes would overflow into other fields
+		return PackedMove.encode(source, destination, takenTiles, false);
+	}
+
+	//every change of the list is counted, so a list refilled with as many moves is not mistaken for the indexed one
+	private static class MoveList extends ArrayList<Move<? extends Hop>> {
+
+		private int replacements; //set does not count as a structural change in modCount
+
+		@Override
+		public Move<? extends Hop> set(int index, Move<? extends Hop> move) {
+			replacements++;
+			return super.set(index, move);
+		}
+
+		int getModifications() {
+			return modCount + replacements;
+		}
+	}
+
 }
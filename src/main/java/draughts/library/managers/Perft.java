@@ -0,0 +1,173 @@
+package draughts.library.managers;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import draughts.library.boardmodel.BitboardPosition;
+import draughts.library.boardmodel.Zobrist;
+import draughts.library.movemodel.Hop;
+import draughts.library.movemodel.Move;
+import draughts.library.movemodel.MoveBuffer;
+
+public class Perft {
+
+	public static final int DEFAULT_CACHE_SIZE = 16; //megabytes
+	private static final int ENTRY_SIZE = 2; //longs: key xor data, data
+	private static final int DEPTH_BITS = 8; //data layout: bits 0-7 depth, the rest node count
+	private static final long MAX_ENTRIES = 1L << 28; //keeps the cache within the maximum array length
+
+	//subtree counts by position, one entry per slot and always replaced, null when nothing is cached
+	//entries are written without locks like in the transposition table, a torn entry fails the key xor data check
+	private final long[] cache;
+	private final int entryMask;
+
+	public Perft() {
+		this(false);
+	}
+
+	public Perft(boolean isCacheUsed) {
+		this(isCacheUsed ? DEFAULT_CACHE_SIZE : 0);
+	}
+
+	public Perft(int cacheSizeInMegabytes) {
+		if(cacheSizeInMegabytes <= 0) {
+			cache = null;
+			entryMask = 0;
+			return;
+		}
+		long entries = Long.highestOneBit(Math.max(1, (long) cacheSizeInMegabytes * 1024 * 1024 / (ENTRY_SIZE * Long.BYTES)));
+		entries = Math.min(entries, MAX_ENTRIES);
+		cache = new long[(int) entries * ENTRY_SIZE];
+		entryMask = (int) entries - 1;
+	}
+
+	public static long countNodesFromStartingPosition(int depth) {
+		BoardManager boardManager = new BoardManager();
+		boardManager.createStartingPosition();
+		return new Perft().countNodes(boardManager, true, depth);
+	}
+
+	public long countNodes(BoardManager boardManager, boolean isWhiteToMove, int depth) {
+		MoveManager[] moveManagers = new MoveManager[Math.max(depth, 1)];
+		for(int i=0; i<moveManagers.length; i++) {
+			moveManagers[i] = new MoveManager();
+		}
+		return countNodes(boardManager, isWhiteToMove, depth, moveManagers);
+	}
+
+	public long countNodesInParallel(BoardManager boardManager, boolean isWhiteToMove, int depth, int parallelism) {
+		if(depth < 2) return countNodes(boardManager, isWhiteToMove, depth);
+
+		int numberOfRootMoves = new MoveManager().findAllCorrectMoves(new BoardManager(boardManager), isWhiteToMove).size();
+		ArrayList<RootMoveTask> tasks = new ArrayList<>();
+		for(int i=0; i<numberOfRootMoves; i++) {
+			tasks.add(new RootMoveTask(boardManager, isWhiteToMove, depth, i));
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			return pool.invoke(new RecursiveTask<Long>() {
+				@Override
+				protected Long compute() {
+					long nodes = 0;
+					for(RootMoveTask task : invokeAll(tasks)) {
+						nodes += task.join();
+					}
+					return nodes;
+				}
+			});
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	public long countNodes(BitboardPosition position, boolean isWhiteToMove, int depth) {
+		MoveBuffer[] buffers = new MoveBuffer[Math.max(depth, 1)];
+		BitboardPosition[] positions = new BitboardPosition[Math.max(depth, 1)];
+		for(int i=0; i<buffers.length; i++) {
+			buffers[i] = new MoveBuffer();
+			positions[i] = new BitboardPosition();
+		}
+		return countNodes(position, isWhiteToMove, depth, new MoveGenerator(), buffers, positions);
+	}
+
+	private long countNodes(BitboardPosition position, boolean isWhiteToMove, int depth,
+							MoveGenerator moveGenerator, MoveBuffer[] buffers, BitboardPosition[] positions) {
+		if(depth == 0) return 1;
+
+		MoveBuffer buffer = buffers[depth-1];
+		moveGenerator.generateMoves(position, isWhiteToMove, buffer);
+		if(depth == 1) return buffer.size();
+
+		long nodes = 0;
+		BitboardPosition child = positions[depth-1];
+		for(int i=0; i<buffer.size(); i++) {
+			child.copyFrom(position);
+			child.makeMove(buffer.get(i));
+			nodes += countNodes(child, !isWhiteToMove, depth-1, moveGenerator, buffers, positions);
+		}
+		return nodes;
+	}
+
+	private long countNodes(BoardManager boardManager, boolean isWhiteToMove, int depth, MoveManager[] moveManagers) {
+		if(depth == 0) return 1;
+
+		long hash = boardManager.getZobristHash() ^ Zobrist.getSideToMoveKey(isWhiteToMove);
+		if(cache != null) {
+			int slot = getSlot(hash);
+			long data = cache[slot + 1];
+			if(data != 0 && (cache[slot] ^ data) == hash && (int) (data & 0xFF) == depth) return data >>> DEPTH_BITS;
+		}
+
+		MoveManager moveManager = moveManagers[depth-1];
+		moveManager.getPossibleMoves().clear();
+		ArrayList<Move<? extends Hop>> moves = moveManager.findAllCorrectMoves(boardManager, isWhiteToMove);
+
+		long nodes = 0;
+		if(depth == 1) nodes = moves.size(); //leaf moves do not have to be made
+		else {
+			for(int i=0; i<moves.size(); i++) {
+				Move<? extends Hop> move = moves.get(i);
+				boardManager.makeWholeMove(move);
+				nodes += countNodes(boardManager, !isWhiteToMove, depth-1, moveManagers);
+				boardManager.reverseWholeMove(move);
+			}
+		}
+
+		if(cache != null) {
+			int slot = getSlot(hash);
+			long data = nodes << DEPTH_BITS | depth; //depth is at least 1, so a stored entry is never 0
+			cache[slot] = hash ^ data;
+			cache[slot + 1] = data;
+		}
+		return nodes;
+	}
+
+	private int getSlot(long hash) {
+		return ((int) (hash ^ (hash >>> 32)) & entryMask) * ENTRY_SIZE;
+	}
+
+	private class RootMoveTask extends RecursiveTask<Long> {
+
+		private final BoardManager boardManager;
+		private final boolean isWhiteToMove;
+		private final int depth;
+		private final int moveNumber;
+
+		RootMoveTask(BoardManager boardManager, boolean isWhiteToMove, int depth, int moveNumber) {
+			this.boardManager = new BoardManager(boardManager); //every task works on its own board
+			this.isWhiteToMove = isWhiteToMove;
+			this.depth = depth;
+			this.moveNumber = moveNumber;
+		}
+
+		@Override
+		protected Long compute() {
+			Move<? extends Hop> move = new MoveManager().findAllCorrectMoves(boardManager, isWhiteToMove).get(moveNumber);
+			boardManager.makeWholeMove(move);
+			return countNodes(boardManager, !isWhiteToMove, depth-1);
+		}
+	}
+
+}
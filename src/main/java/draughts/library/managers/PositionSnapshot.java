@@ -0,0 +1,82 @@
+package draughts.library.managers;
+
+import draughts.library.boardmodel.BitboardPosition;
+import draughts.library.boardmodel.Tile;
+import draughts.library.boardmodel.Zobrist;
+
+public final class PositionSnapshot {
+
+	//private copies that are never handed out, so the snapshot cannot change and can be shared between threads
+	private final BitboardPosition position;
+	private final DrawArbiter drawArbiter;
+	private final boolean isWhiteToMove;
+	private final GameEngine.GameState gameState;
+
+	public PositionSnapshot(GameEngine gameEngine) {
+		this.position = new BitboardPosition(gameEngine.getBoardManager().getBitboards());
+		this.drawArbiter = new DrawArbiter(gameEngine.getDrawArbiter());
+		this.isWhiteToMove = gameEngine.getIsWhiteToMove();
+		this.gameState = gameEngine.getGameState();
+	}
+
+	public boolean getIsWhiteToMove() {
+		return isWhiteToMove;
+	}
+
+	public GameEngine.GameState getGameState() {
+		return gameState;
+	}
+
+	public long getPositionHash() {
+		return position.getHash() ^ Zobrist.getSideToMoveKey(isWhiteToMove);
+	}
+
+	public Tile.State getState(int index) {
+		return position.getState(index);
+	}
+
+	public int getNumberOfWhitePieces() {
+		return position.getNumberOfWhitePieces();
+	}
+
+	public int getNumberOfBlackPieces() {
+		return position.getNumberOfBlackPieces();
+	}
+
+	public int getDrawCounter() {
+		return drawArbiter.getDrawCounter();
+	}
+
+	public DrawArbiter.DrawConditions getDrawConditions() {
+		return drawArbiter.getDrawConditions();
+	}
+
+	public boolean isAnyMovePossible() {
+		return position.isAnyMovePossible(isWhiteToMove);
+	}
+
+	//tiles and pieces are only built here, every call gives a new game that can be changed freely
+	public GameEngine createGameEngine() {
+		return new GameEngine(createBoardManager(), new DrawArbiter(drawArbiter), isWhiteToMove, gameState);
+	}
+
+	public BoardManager createBoardManager() {
+		return new BoardManager(position);
+	}
+
+	//draw state is left out, the same as in position hashes
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		PositionSnapshot that = (PositionSnapshot) o;
+		return isWhiteToMove == that.isWhiteToMove &&
+				position.equals(that.position);
+	}
+
+	@Override
+	public int hashCode() {
+		return position.hashCode() * 31 + (isWhiteToMove ? 1 : 0);
+	}
+
+}
@@ -0,0 +1,141 @@
+package draughts.library.managers;
+
+import java.util.Arrays;
+
+import draughts.library.boardmodel.Piece;
+
+public class UndoStack {
+
+	private static final int DEFAULT_CAPACITY = 128;
+	private static final int MAX_TAKEN_PIECES = 20; //every opposite piece at once
+
+	//one record per made move, kept in parallel arrays so making a move allocates nothing
+	private long[] packedMoves;
+	private int[] queenFlags;
+	private long[] drawArbiterStates;
+	private GameEngine.GameState[] gameStates;
+	private Piece[] promotedPawns;
+	private Piece[] promotedQueens; //kept after pop, the next promotion made on the same ply reuses the queen
+	private Piece[] takenPieces; //taken pieces of all records one after another
+	private int[] takenPiecesEnds;
+	private int size;
+
+	public UndoStack() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public UndoStack(int capacity) {
+		packedMoves = new long[capacity];
+		queenFlags = new int[capacity];
+		drawArbiterStates = new long[capacity];
+		gameStates = new GameEngine.GameState[capacity];
+		promotedPawns = new Piece[capacity];
+		promotedQueens = new Piece[capacity];
+		takenPieces = new Piece[capacity * 4];
+		takenPiecesEnds = new int[capacity];
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public long peekMove() {
+		return packedMoves[size - 1];
+	}
+
+	public void clear() {
+		Arrays.fill(promotedPawns, 0, size, null);
+		Arrays.fill(promotedQueens, 0, size, null); //these queens were never taken back, so they may still be on the board
+		Arrays.fill(takenPieces, 0, getTakenPiecesStart(size), null);
+		size = 0;
+	}
+
+	void push(long packedMove, int queenFlags) {
+		if(size == packedMoves.length) grow(); //only for unusually deep lines
+		int takenPiecesStart = getTakenPiecesStart(size);
+		if(takenPiecesStart + MAX_TAKEN_PIECES > takenPieces.length)
+			takenPieces = Arrays.copyOf(takenPieces, Math.max(takenPieces.length * 2, takenPiecesStart + MAX_TAKEN_PIECES));
+
+		packedMoves[size] = packedMove;
+		this.queenFlags[size] = queenFlags;
+		promotedPawns[size] = null;
+		takenPiecesEnds[size] = takenPiecesStart;
+		size++;
+	}
+
+	void pop() {
+		size--;
+		promotedPawns[size] = null; //no references kept to pieces that may be gone from the game
+		Arrays.fill(takenPieces, getTakenPiecesStart(size), takenPiecesEnds[size], null);
+	}
+
+	void addTakenPiece(Piece piece) {
+		takenPieces[takenPiecesEnds[size - 1]++] = piece;
+	}
+
+	int getTakenPiecesStart() {
+		return getTakenPiecesStart(size - 1);
+	}
+
+	private int getTakenPiecesStart(int record) {
+		return record > 0 ? takenPiecesEnds[record - 1] : 0;
+	}
+
+	Piece getTakenPiece(int i) {
+		return takenPieces[i];
+	}
+
+	int getTakenPiecesEnd() {
+		return takenPiecesEnds[size - 1];
+	}
+
+	int getQueenFlags() {
+		return queenFlags[size - 1];
+	}
+
+	Piece getPromotedPawn() {
+		return promotedPawns[size - 1];
+	}
+
+	void setPromotedPawn(Piece pawn) {
+		promotedPawns[size - 1] = pawn;
+	}
+
+	Piece getPromotedQueen() {
+		return promotedQueens[size - 1];
+	}
+
+	void setPromotedQueen(Piece queen) {
+		promotedQueens[size - 1] = queen;
+	}
+
+	//state of the game around the board, filled by GameEngine
+	void setGameState(long drawArbiterState, GameEngine.GameState gameState) {
+		drawArbiterStates[size - 1] = drawArbiterState;
+		gameStates[size - 1] = gameState;
+	}
+
+	long getDrawArbiterState() {
+		return drawArbiterStates[size - 1];
+	}
+
+	GameEngine.GameState getGameState() {
+		return gameStates[size - 1];
+	}
+
+	private void grow() {
+		int capacity = packedMoves.length * 2;
+		packedMoves = Arrays.copyOf(packedMoves, capacity);
+		queenFlags = Arrays.copyOf(queenFlags, capacity);
+		drawArbiterStates = Arrays.copyOf(drawArbiterStates, capacity);
+		gameStates = Arrays.copyOf(gameStates, capacity);
+		promotedPawns = Arrays.copyOf(promotedPawns, capacity);
+		promotedQueens = Arrays.copyOf(promotedQueens, capacity);
+		takenPiecesEnds = Arrays.copyOf(takenPiecesEnds, capacity);
+	}
+
+}
@@ -3,6 +3,7 @@ package draughts.library.movemodel;
 import java.util.ArrayList;
 import java.util.Objects;
 
+import draughts.library.boardmodel.BitboardPosition;
 import draughts.library.boardmodel.Piece;
 import draughts.library.boardmodel.Tile;
 
@@ -96,6 +97,16 @@ public class Move<T extends Hop> {
 		return takenPawns;
 	}
 
+	public long getMoveTakenTiles() {
+		long takenTiles = 0;
+		if(isCapture()) {
+			for(T hop : hops) {
+				takenTiles |= BitboardPosition.tileMask(((Capture) hop).getTakenPiece().getPosition().getIndex());
+			}
+		}
+		return takenTiles;
+	}
+
 	public void setMoveTakenPawns(ArrayList<Piece> moveTakenPawns) {
 		if (isCapture()) {
 			int takenPawnIndex = 0;
@@ -123,7 +134,7 @@ public class Move<T extends Hop> {
 	}
 	
 	public boolean doesTakenPawnsMatch(ArrayList<Integer> takenPawns) {
-		if(getMoveTakenPawns().size() != takenPawns.size()) return false;
+		if((isCapture() ? hops.size() : 0) != takenPawns.size()) return false;
 		else {
 			for(int i=0; i<takenPawns.size(); i++) {
 				Capture capture = (Capture) hops.get(i);
@@ -0,0 +1,55 @@
+package draughts.library.movemodel;
+
+import java.util.Arrays;
+
+public class MoveBuffer {
+
+	private static final int DEFAULT_CAPACITY = 128;
+
+	private long[] moves;
+	private int size;
+
+	public MoveBuffer() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public MoveBuffer(int capacity) {
+		moves = new long[capacity];
+	}
+
+	public void add(long packedMove) {
+		if(size == moves.length) moves = Arrays.copyOf(moves, moves.length * 2); //only for unusually rich capture positions
+		moves[size++] = packedMove;
+	}
+
+	public long get(int i) {
+		return moves[i];
+	}
+
+	public void set(int i, long packedMove) {
+		moves[i] = packedMove;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public void clear() {
+		size = 0;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("[");
+		for(int i=0; i<size; i++) {
+			if(i > 0) builder.append(", ");
+			builder.append(PackedMove.toString(moves[i]));
+		}
+		return builder.append("]").toString();
+	}
+
+}
@@ -0,0 +1,54 @@
+package draughts.library.movemodel;
+
+import draughts.library.boardmodel.BitboardPosition;
+
+public final class PackedMove {
+
+	//bit 0: promotion flag, bits 1-50: taken tiles (same layout as BitboardPosition), bits 51-56: source, bits 57-62: destination
+	private static final long PROMOTION_FLAG = 1L;
+	private static final long TAKEN_TILES = BitboardPosition.PLAYABLE_TILES;
+	private static final int SOURCE_SHIFT = 51;
+	private static final int DESTINATION_SHIFT = 57;
+	private static final long TILE_INDEX = 0x3F;
+
+	private PackedMove() {
+	}
+
+	public static long encode(int source, int destination, long takenTiles, boolean promotion) {
+		return ((long) source << SOURCE_SHIFT) | ((long) destination << DESTINATION_SHIFT) |
+				(takenTiles & TAKEN_TILES) | (promotion ? PROMOTION_FLAG : 0);
+	}
+
+	public static long encode(Move<? extends Hop> move) {
+		return encode(move.getMoveSource().getIndex(), move.getMoveDestination().getIndex(), move.getMoveTakenTiles(), move.isPromotion());
+	}
+
+	public static int getSource(long packedMove) {
+		return (int) ((packedMove >>> SOURCE_SHIFT) & TILE_INDEX);
+	}
+
+	public static int getDestination(long packedMove) {
+		return (int) ((packedMove >>> DESTINATION_SHIFT) & TILE_INDEX);
+	}
+
+	public static long getTakenTiles(long packedMove) {
+		return packedMove & TAKEN_TILES;
+	}
+
+	public static int getNumberOfTakenPieces(long packedMove) {
+		return Long.bitCount(packedMove & TAKEN_TILES);
+	}
+
+	public static boolean isCapture(long packedMove) {
+		return (packedMove & TAKEN_TILES) != 0;
+	}
+
+	public static boolean isPromotion(long packedMove) {
+		return (packedMove & PROMOTION_FLAG) != 0;
+	}
+
+	public static String toString(long packedMove) {
+		return getSource(packedMove) + (isCapture(packedMove) ? " x " : " -> ") + getDestination(packedMove);
+	}
+
+}
@@ -0,0 +1,206 @@
+package draughts.library.tablebase;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+public class CompressedTablebase {
+
+	public static final String FILE_EXTENSION = ".ctb";
+	public static final int BLOCK_SIZE = 4096; //packed bytes in one compressed block, four values each
+	private static final int MAGIC = 0x44544243;
+	private static final int HEADER_SIZE = 4 + 4 + 8 + 4;
+	private static final long SEGMENT_SIZE = 1L << 30; //files are mapped in pieces, a single mapping is limited to 2 GB
+	private static final long SEGMENT_OVERLAP = 2L * BLOCK_SIZE; //every block starting in a segment ends inside its mapping
+
+	private final MaterialSignature signature;
+	private final PositionIndexer indexer;
+	private final long size;
+	private final long[] blockOffsets; //offset of every block in the file, plus the end of the last one
+	private final MappedByteBuffer[] segments;
+
+	private CompressedTablebase(MaterialSignature signature, long size, long[] blockOffsets, MappedByteBuffer[] segments) {
+		this.signature = signature;
+		this.indexer = new PositionIndexer(signature);
+		this.size = size;
+		this.blockOffsets = blockOffsets;
+		this.segments = segments;
+	}
+
+	public static Path getPath(Path directory, MaterialSignature signature) {
+		return directory.resolve(signature.getName() + FILE_EXTENSION);
+	}
+
+	public static Path write(Tablebase tablebase, Path directory) throws IOException {
+		long size = tablebase.getSize();
+		long numberOfPackedBytes = getNumberOfPackedBytes(size);
+		int numberOfBlocks = (int) ((numberOfPackedBytes + BLOCK_SIZE - 1) / BLOCK_SIZE);
+		long[] blockOffsets = new long[numberOfBlocks + 1];
+
+		Path path = getPath(directory, tablebase.getSignature());
+		Path dataPath = Files.createTempFile(directory, tablebase.getSignature().getName(), ".tmp");
+		try {
+			Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+			byte[] block = new byte[BLOCK_SIZE];
+			byte[] compressed = new byte[2 * BLOCK_SIZE];
+			long offset = HEADER_SIZE + 8L * blockOffsets.length;
+
+			try(OutputStream data = new BufferedOutputStream(Files.newOutputStream(dataPath))) {
+				for(int blockNumber=0; blockNumber<numberOfBlocks; blockNumber++) {
+					int blockLength = packBlock(tablebase, blockNumber, block);
+					deflater.reset();
+					deflater.setInput(block, 0, blockLength);
+					deflater.finish();
+					int compressedLength = 0;
+					while(!deflater.finished()) { //one call is not guaranteed to write the whole block
+						if(compressedLength == compressed.length) //readers expect every block to fit inside the segment overlap
+							throw new IOException("Block " + blockNumber + " does not fit in " + compressed.length + " bytes after compression");
+						compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+					}
+
+					blockOffsets[blockNumber] = offset;
+					data.write(compressed, 0, compressedLength);
+					offset += compressedLength;
+				}
+			} finally {
+				deflater.end();
+			}
+			blockOffsets[numberOfBlocks] = offset;
+
+			try(DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+				output.writeInt(MAGIC);
+				output.writeByte(tablebase.getSignature().getWhitePawns());
+				output.writeByte(tablebase.getSignature().getWhiteQueens());
+				output.writeByte(tablebase.getSignature().getBlackPawns());
+				output.writeByte(tablebase.getSignature().getBlackQueens());
+				output.writeLong(size);
+				output.writeInt(numberOfBlocks);
+				for(long blockOffset : blockOffsets) {
+					output.writeLong(blockOffset);
+				}
+				Files.copy(dataPath, output);
+			}
+		} finally {
+			Files.delete(dataPath);
+		}
+		return path;
+	}
+
+	private static long getNumberOfPackedBytes(long size) {
+		return (2 * size + 3) / 4; //white to move values first, then black to move ones
+	}
+
+	private static int packBlock(Tablebase tablebase, int blockNumber, byte[] block) {
+		long size = tablebase.getSize();
+		long firstEntry = (long) blockNumber * BLOCK_SIZE * 4;
+		int blockLength = 0;
+		for(; blockLength<BLOCK_SIZE && firstEntry + 4L * blockLength < 2 * size; blockLength++) {
+			int packed = 0;
+			for(int j=0; j<4; j++) {
+				long entry = firstEntry + 4L * blockLength + j;
+				if(entry >= 2 * size) break;
+				byte value = entry < size ? tablebase.getValue(entry, true) : tablebase.getValue(entry - size, false);
+				packed |= value << (2 * j);
+			}
+			block[blockLength] = (byte) packed;
+		}
+		return blockLength;
+	}
+
+	public static CompressedTablebase open(Path path) throws IOException {
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long fileSize = channel.size();
+			if(fileSize < HEADER_SIZE) throw new IOException("Not a compressed tablebase file: " + path);
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			readFully(channel, header, 0, path);
+			header.flip();
+			if(header.getInt() != MAGIC) throw new IOException("Not a compressed tablebase file: " + path);
+
+			MaterialSignature signature = new MaterialSignature(header.get(), header.get(), header.get(), header.get());
+			long size = header.getLong();
+			int numberOfBlocks = header.getInt();
+
+			ByteBuffer index = ByteBuffer.allocate(8 * (numberOfBlocks + 1));
+			readFully(channel, index, HEADER_SIZE, path);
+			index.flip();
+			long[] blockOffsets = new long[numberOfBlocks + 1];
+			for(int i=0; i<blockOffsets.length; i++) {
+				blockOffsets[i] = index.getLong();
+			}
+
+			//mappings stay valid after the channel is closed, the page cache is shared with other processes
+			MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((fileSize + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+			for(int i=0; i<segments.length; i++) {
+				long start = i * SEGMENT_SIZE;
+				segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_SIZE + SEGMENT_OVERLAP, fileSize - start));
+			}
+			return new CompressedTablebase(signature, size, blockOffsets, segments);
+		}
+	}
+
+	//a single read may stop early, so reading goes on until the buffer is full or the file ends
+	private static void readFully(FileChannel channel, ByteBuffer buffer, long position, Path path) throws IOException {
+		while(buffer.hasRemaining()) {
+			if(channel.read(buffer, position + buffer.position()) < 0)
+				throw new EOFException("Compressed tablebase file ends too early: " + path);
+		}
+	}
+
+	public MaterialSignature getSignature() {
+		return signature;
+	}
+
+	public PositionIndexer getIndexer() {
+		return indexer;
+	}
+
+	public long getSize() {
+		return size;
+	}
+
+	public int getNumberOfBlocks() {
+		return blockOffsets.length - 1;
+	}
+
+	public static int getBlockNumber(long entry) {
+		return (int) (entry / 4 / BLOCK_SIZE);
+	}
+
+	public long getEntry(long index, boolean isWhiteToMove) {
+		return isWhiteToMove ? index : size + index;
+	}
+
+	public static byte getValue(byte[] block, long entry) {
+		int packed = block[(int) (entry / 4 % BLOCK_SIZE)];
+		return (byte) ((packed >>> (2 * (entry % 4))) & 3);
+	}
+
+	public byte[] decompressBlock(int blockNumber, Inflater inflater) throws DataFormatException {
+		long offset = blockOffsets[blockNumber];
+		int compressedLength = (int) (blockOffsets[blockNumber + 1] - offset);
+		ByteBuffer segment = segments[(int) (offset / SEGMENT_SIZE)].duplicate(); //own position, so threads do not interfere
+		segment.position((int) (offset % SEGMENT_SIZE));
+		byte[] compressed = new byte[compressedLength];
+		segment.get(compressed);
+
+		byte[] block = new byte[BLOCK_SIZE];
+		inflater.reset();
+		inflater.setInput(compressed);
+		int blockLength = inflater.inflate(block);
+		if(!inflater.finished() || blockLength != Math.min(BLOCK_SIZE, getNumberOfPackedBytes(size) - (long) blockNumber * BLOCK_SIZE))
+			throw new DataFormatException("Block " + blockNumber + " of " + signature + " is truncated");
+		return block;
+	}
+
+}
@@ -0,0 +1,114 @@
+package draughts.library.tablebase;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+import draughts.library.boardmodel.BitboardPosition;
+
+public final class MaterialSignature {
+
+	private final int whitePawns;
+	private final int whiteQueens;
+	private final int blackPawns;
+	private final int blackQueens;
+
+	public MaterialSignature(int whitePawns, int whiteQueens, int blackPawns, int blackQueens) {
+		this.whitePawns = whitePawns;
+		this.whiteQueens = whiteQueens;
+		this.blackPawns = blackPawns;
+		this.blackQueens = blackQueens;
+	}
+
+	public static MaterialSignature of(BitboardPosition position) {
+		return new MaterialSignature(Long.bitCount(position.getWhitePawns()), Long.bitCount(position.getWhiteQueens()),
+				Long.bitCount(position.getBlackPawns()), Long.bitCount(position.getBlackQueens()));
+	}
+
+	//every signature with at least one piece on each side, ordered so that signatures reachable by a capture or a promotion come first
+	public static List<MaterialSignature> findAll(int maxPieces) {
+		List<MaterialSignature> signatures = new ArrayList<>();
+		for(int whitePawns=0; whitePawns<=maxPieces; whitePawns++) {
+			for(int whiteQueens=0; whiteQueens<=maxPieces; whiteQueens++) {
+				for(int blackPawns=0; blackPawns<=maxPieces; blackPawns++) {
+					for(int blackQueens=0; blackQueens<=maxPieces; blackQueens++) {
+						MaterialSignature signature = new MaterialSignature(whitePawns, whiteQueens, blackPawns, blackQueens);
+						if(signature.getNumberOfPieces() <= maxPieces &&
+						   signature.getNumberOfWhitePieces() > 0 && signature.getNumberOfBlackPieces() > 0)
+							signatures.add(signature);
+					}
+				}
+			}
+		}
+		signatures.sort(Comparator.comparingInt(MaterialSignature::getNumberOfPieces)
+								  .thenComparingInt(MaterialSignature::getNumberOfPawns));
+		return signatures;
+	}
+
+	public int getWhitePawns() {
+		return whitePawns;
+	}
+
+	public int getWhiteQueens() {
+		return whiteQueens;
+	}
+
+	public int getBlackPawns() {
+		return blackPawns;
+	}
+
+	public int getBlackQueens() {
+		return blackQueens;
+	}
+
+	public int getNumberOfWhitePieces() {
+		return whitePawns + whiteQueens;
+	}
+
+	public int getNumberOfBlackPieces() {
+		return blackPawns + blackQueens;
+	}
+
+	public int getNumberOfPawns() {
+		return whitePawns + blackPawns;
+	}
+
+	public int getNumberOfPieces() {
+		return getNumberOfWhitePieces() + getNumberOfBlackPieces();
+	}
+
+	//true when a position of this signature can come from a position of the other one by captures and promotions
+	public boolean isReachableFrom(MaterialSignature other) {
+		return !equals(other) &&
+				whitePawns <= other.whitePawns && blackPawns <= other.blackPawns &&
+				getNumberOfWhitePieces() <= other.getNumberOfWhitePieces() &&
+				getNumberOfBlackPieces() <= other.getNumberOfBlackPieces();
+	}
+
+	public String getName() {
+		return "w" + whitePawns + "p" + whiteQueens + "q_b" + blackPawns + "p" + blackQueens + "q";
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		MaterialSignature that = (MaterialSignature) o;
+		return whitePawns == that.whitePawns &&
+				whiteQueens == that.whiteQueens &&
+				blackPawns == that.blackPawns &&
+				blackQueens == that.blackQueens;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(whitePawns, whiteQueens, blackPawns, blackQueens);
+	}
+
+	@Override
+	public String toString() {
+		return getName();
+	}
+
+}
@@ -0,0 +1,109 @@
+package draughts.library.tablebase;
+
+import draughts.library.boardmodel.BitboardPosition;
+import draughts.library.boardmodel.Board;
+import draughts.library.boardmodel.Tile;
+
+public class PositionIndexer {
+
+	private static final Tile.State[] GROUPS = {Tile.State.WHITE_QUEEN, Tile.State.BLACK_QUEEN,
+												Tile.State.WHITE_PAWN, Tile.State.BLACK_PAWN};
+	private static final long[][] BINOMIALS = new long[Board.PLAYABLE_TILES + 1][Board.PLAYABLE_TILES + 1];
+
+	static {
+		for(int n=0; n<=Board.PLAYABLE_TILES; n++) {
+			BINOMIALS[n][0] = 1;
+			for(int k=1; k<=n; k++) {
+				BINOMIALS[n][k] = BINOMIALS[n-1][k-1] + BINOMIALS[n-1][k];
+			}
+		}
+	}
+
+	private final int[] counts; //number of pieces in every group
+	private final int[][] domains; //tiles a piece of the group may stand on, ascending
+	private final int[][] domainPositions; //domainPositions[group][tile] is the position of tile in its domain
+	private final long[] multipliers;
+	private final long size;
+
+	public PositionIndexer(MaterialSignature signature) {
+		counts = new int[] {signature.getWhiteQueens(), signature.getBlackQueens(),
+							signature.getWhitePawns(), signature.getBlackPawns()};
+		domains = new int[GROUPS.length][];
+		domainPositions = new int[GROUPS.length][Board.PLAYABLE_TILES + 1];
+		multipliers = new long[GROUPS.length];
+
+		long size = 1;
+		for(int group=0; group<GROUPS.length; group++) {
+			domains[group] = createDomain(GROUPS[group]);
+			for(int i=0; i<domains[group].length; i++) {
+				domainPositions[group][domains[group][i]] = i;
+			}
+			multipliers[group] = size;
+			size *= BINOMIALS[domains[group].length][counts[group]];
+		}
+		this.size = size;
+	}
+
+	private static int[] createDomain(Tile.State state) {
+		int first = 1;
+		int last = Board.PLAYABLE_TILES;
+		if(state == Tile.State.WHITE_PAWN) first += Board.TILES_IN_ROW / 2; //pawns never stand on their promotion row
+		if(state == Tile.State.BLACK_PAWN) last -= Board.TILES_IN_ROW / 2;
+
+		int[] domain = new int[last - first + 1];
+		for(int i=0; i<domain.length; i++) {
+			domain[i] = first + i;
+		}
+		return domain;
+	}
+
+	public long getSize() {
+		return size;
+	}
+
+	public long getIndex(BitboardPosition position) {
+		long index = 0;
+		for(int group=0; group<GROUPS.length; group++) {
+			long rank = 0;
+			int pieceNumber = 1;
+			for(long pieces = getPieces(position, GROUPS[group]); pieces != 0; pieces &= pieces - 1) {
+				rank += BINOMIALS[domainPositions[group][Long.numberOfTrailingZeros(pieces)]][pieceNumber++];
+			}
+			index += rank * multipliers[group];
+		}
+		return index;
+	}
+
+	//returns false when pieces of different groups would share a tile, such indexes are not positions
+	public boolean getPosition(long index, BitboardPosition position) {
+		position.clear();
+		for(int group=GROUPS.length-1; group>=0; group--) {
+			long rank = index / multipliers[group];
+			index %= multipliers[group];
+
+			int domainPosition = domains[group].length;
+			for(int pieceNumber=counts[group]; pieceNumber>0; pieceNumber--) {
+				do {
+					domainPosition--;
+				} while(BINOMIALS[domainPosition][pieceNumber] > rank);
+				rank -= BINOMIALS[domainPosition][pieceNumber];
+
+				int tile = domains[group][domainPosition];
+				if(!position.isTileEmpty(tile)) return false;
+				position.addPiece(tile, GROUPS[group]);
+			}
+		}
+		return true;
+	}
+
+	private static long getPieces(BitboardPosition position, Tile.State state) {
+		switch(state) {
+			case WHITE_PAWN: return position.getWhitePawns();
+			case BLACK_PAWN: return position.getBlackPawns();
+			case WHITE_QUEEN: return position.getWhiteQueens();
+			case BLACK_QUEEN: return position.getBlackQueens();
+			default: return 0;
+		}
+	}
+
+}
@@ -0,0 +1,56 @@
+package draughts.library.tablebase;
+
+import draughts.library.boardmodel.BitboardPosition;
+
+public class Tablebase {
+
+	//values of the side to move, ILLEGAL also marks positions not solved yet during generation
+	static final byte ILLEGAL = 0;
+	static final byte WIN = 1;
+	static final byte LOSS = 2;
+	static final byte DRAW = 3;
+
+	private final MaterialSignature signature;
+	private final PositionIndexer indexer;
+	private final byte[] whiteToMoveValues;
+	private final byte[] blackToMoveValues;
+
+	public Tablebase(MaterialSignature signature) {
+		this.signature = signature;
+		this.indexer = new PositionIndexer(signature);
+		if(indexer.getSize() > Integer.MAX_VALUE - 8)
+			throw new IllegalArgumentException("Too many positions for one table: " + signature);
+		this.whiteToMoveValues = new byte[(int) indexer.getSize()];
+		this.blackToMoveValues = new byte[(int) indexer.getSize()];
+	}
+
+	public MaterialSignature getSignature() {
+		return signature;
+	}
+
+	public PositionIndexer getIndexer() {
+		return indexer;
+	}
+
+	public long getSize() {
+		return indexer.getSize();
+	}
+
+	public Result getResult(BitboardPosition position, boolean isWhiteToMove) {
+		return Result.values()[getValue(indexer.getIndex(position), isWhiteToMove)];
+	}
+
+	byte getValue(long index, boolean isWhiteToMove) {
+		return isWhiteToMove ? whiteToMoveValues[(int) index] : blackToMoveValues[(int) index];
+	}
+
+	void setValue(long index, boolean isWhiteToMove, byte value) {
+		if(isWhiteToMove) whiteToMoveValues[(int) index] = value;
+		else 			  blackToMoveValues[(int) index] = value;
+	}
+
+	public enum Result {
+		ILLEGAL, WIN, LOSS, DRAW
+	}
+
+}
@@ -0,0 +1,264 @@
+package draughts.library.tablebase;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+import draughts.library.boardmodel.BitboardPosition;
+import draughts.library.boardmodel.Board;
+import draughts.library.boardmodel.Piece.MoveDirection;
+import draughts.library.managers.MoveGenerator;
+import draughts.library.movemodel.MoveBuffer;
+import draughts.library.movemodel.PackedMove;
+
+public class TablebaseGenerator {
+
+	private static final int CHUNK_SIZE = 1 << 14; //positions solved by one task before splitting stops
+	private static final MoveDirection[] WHITE_PAWN_BACK_DIRECTIONS = {MoveDirection.DOWN_LEFT, MoveDirection.DOWN_RIGHT};
+	private static final MoveDirection[] BLACK_PAWN_BACK_DIRECTIONS = {MoveDirection.UP_LEFT, MoveDirection.UP_RIGHT};
+
+	private final int parallelism;
+	private final Map<MaterialSignature, Tablebase> tablebases;
+
+	public TablebaseGenerator(int parallelism) {
+		this.parallelism = parallelism;
+		this.tablebases = new ConcurrentHashMap<>();
+	}
+
+	public static void main(String[] args) throws IOException {
+		int maxPieces = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+		Path directory = Paths.get(args.length > 1 ? args[1] : "tablebases");
+		int parallelism = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+		Files.createDirectories(directory);
+		new TablebaseGenerator(parallelism).generateAll(maxPieces, directory);
+	}
+
+	public Map<MaterialSignature, Tablebase> getTablebases() {
+		return tablebases;
+	}
+
+	public void generateAll(int maxPieces, Path directory) throws IOException {
+		for(MaterialSignature signature : MaterialSignature.findAll(maxPieces)) {
+			CompressedTablebase.write(generate(signature), directory); //the format read by TablebaseProber
+		}
+	}
+
+	public Tablebase generate(MaterialSignature signature) {
+		Tablebase tablebase = tablebases.get(signature);
+		if(tablebase != null) return tablebase;
+
+		for(MaterialSignature other : MaterialSignature.findAll(signature.getNumberOfPieces())) {
+			if(other.isReachableFrom(signature)) generate(other); //ordered, so dependencies of other are ready first
+		}
+
+		tablebase = new Tablebase(signature);
+		byte[][] remainingMoves = {new byte[(int) tablebase.getSize()], new byte[(int) tablebase.getSize()]}; //unsolved moves, black to move first
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			pool.invoke(new InitialTask(tablebase, remainingMoves, 0, tablebase.getSize()));
+			propagate(tablebase, remainingMoves);
+			pool.invoke(new DrawTask(tablebase, 0, tablebase.getSize()));
+		} finally {
+			pool.shutdown();
+		}
+		tablebases.put(signature, tablebase);
+		return tablebase;
+	}
+
+	//values known without the rest of this table: no moves, a lost child, or children only in smaller tables
+	//for everything else the moves staying in this table are counted, propagate resolves them backwards
+	private byte countMoves(Tablebase tablebase, BitboardPosition position, boolean isWhiteToMove, byte[] remainingMoves,
+							long index, MoveGenerator moveGenerator, MoveBuffer buffer, BitboardPosition child) {
+		if(moveGenerator.generateMoves(position, isWhiteToMove, buffer) == 0) return Tablebase.LOSS;
+
+		int unresolvedMoves = 0;
+		for(int i=0; i<buffer.size(); i++) {
+			long move = buffer.get(i);
+			if(!PackedMove.isCapture(move) && !PackedMove.isPromotion(move)) { //same material, so a position of this table
+				unresolvedMoves++;
+				continue;
+			}
+			child.copyFrom(position);
+			child.makeMove(move);
+			byte childValue = getValue(tablebase, child, !isWhiteToMove);
+			if(childValue == Tablebase.LOSS) return Tablebase.WIN;
+			if(childValue != Tablebase.WIN) unresolvedMoves++; //drawn child, this position can never be lost
+		}
+		if(unresolvedMoves == 0) return Tablebase.LOSS;
+		remainingMoves[(int) index] = (byte) unresolvedMoves;
+		return Tablebase.ILLEGAL;
+	}
+
+	private byte getValue(Tablebase tablebase, BitboardPosition position, boolean isWhiteToMove) {
+		long pieces = isWhiteToMove ? position.getWhitePieces() : position.getBlackPieces();
+		if(pieces == 0) return Tablebase.LOSS; //last piece has just been captured
+
+		MaterialSignature signature = MaterialSignature.of(position);
+		Tablebase positionTablebase = signature.equals(tablebase.getSignature()) ? tablebase : tablebases.get(signature);
+		return positionTablebase.getValue(positionTablebase.getIndexer().getIndex(position), isWhiteToMove);
+	}
+
+	//retrograde analysis: every solved position resolves the positions one quiet move before it
+	private void propagate(Tablebase tablebase, byte[][] remainingMoves) {
+		long[] stack = new long[1024]; //solved positions not propagated yet, as index * 2 plus 1 for white to move
+		int stackSize = 0;
+		for(long index=0; index<tablebase.getSize(); index++) {
+			for(int side=0; side<2; side++) {
+				if(tablebase.getValue(index, side == 1) == Tablebase.ILLEGAL) continue;
+				if(stackSize == stack.length) stack = Arrays.copyOf(stack, stackSize * 2);
+				stack[stackSize++] = index * 2 + side;
+			}
+		}
+
+		MoveGenerator moveGenerator = new MoveGenerator();
+		MoveBuffer buffer = new MoveBuffer();
+		MoveBuffer captures = new MoveBuffer();
+		BitboardPosition position = new BitboardPosition();
+		BitboardPosition parent = new BitboardPosition();
+		while(stackSize > 0) {
+			long entry = stack[--stackSize];
+			boolean isWhiteToMove = (entry & 1) != 0;
+			tablebase.getIndexer().getPosition(entry >>> 1, position);
+			byte value = tablebase.getValue(entry >>> 1, isWhiteToMove);
+
+			int numberOfParents = findParents(position, !isWhiteToMove, moveGenerator, captures, buffer, parent);
+			for(int i=0; i<numberOfParents; i++) {
+				parent.copyFrom(position);
+				parent.movePiece(PackedMove.getDestination(buffer.get(i)), PackedMove.getSource(buffer.get(i)));
+				long parentIndex = tablebase.getIndexer().getIndex(parent);
+				if(tablebase.getValue(parentIndex, !isWhiteToMove) != Tablebase.ILLEGAL) continue;
+
+				byte[] parentRemainingMoves = remainingMoves[isWhiteToMove ? 0 : 1];
+				if(value == Tablebase.LOSS) tablebase.setValue(parentIndex, !isWhiteToMove, Tablebase.WIN);
+				else if(--parentRemainingMoves[(int) parentIndex] == 0) tablebase.setValue(parentIndex, !isWhiteToMove, Tablebase.LOSS);
+				else continue;
+
+				if(stackSize == stack.length) stack = Arrays.copyOf(stack, stackSize * 2);
+				stack[stackSize++] = parentIndex * 2 + (isWhiteToMove ? 0 : 1);
+			}
+		}
+	}
+
+	//quiet moves of the side that has just moved which could have led to the position, packed as the forward moves
+	//promotions change material and are left out, as are moves from positions where capturing was mandatory
+	private static int findParents(BitboardPosition position, boolean isWhiteMoved, MoveGenerator moveGenerator,
+								   MoveBuffer captures, MoveBuffer parents, BitboardPosition parent) {
+		parents.clear();
+		long empty = position.getEmptyTiles();
+		long pawns = isWhiteMoved ? position.getWhitePawns() : position.getBlackPawns();
+		long queens = isWhiteMoved ? position.getWhiteQueens() : position.getBlackQueens();
+		MoveDirection[] pawnDirections = isWhiteMoved ? WHITE_PAWN_BACK_DIRECTIONS : BLACK_PAWN_BACK_DIRECTIONS;
+
+		for(; pawns != 0; pawns &= pawns - 1) {
+			int destination = Long.numberOfTrailingZeros(pawns);
+			for(MoveDirection direction : pawnDirections) {
+				int source = Board.getNeighbour(destination, direction);
+				if(source != 0 && (empty & BitboardPosition.tileMask(source)) != 0)
+					addParent(position, isWhiteMoved, source, destination, moveGenerator, captures, parents, parent);
+			}
+		}
+		for(; queens != 0; queens &= queens - 1) {
+			int destination = Long.numberOfTrailingZeros(queens);
+			for(MoveDirection direction : MoveDirection.values()) {
+				for(int source : Board.getRay(destination, direction)) {
+					if((empty & BitboardPosition.tileMask(source)) == 0) break;
+					addParent(position, isWhiteMoved, source, destination, moveGenerator, captures, parents, parent);
+				}
+			}
+		}
+		return parents.size();
+	}
+
+	private static void addParent(BitboardPosition position, boolean isWhiteMoved, int source, int destination,
+								  MoveGenerator moveGenerator, MoveBuffer captures, MoveBuffer parents, BitboardPosition parent) {
+		parent.copyFrom(position);
+		parent.movePiece(destination, source);
+		if(moveGenerator.generateCaptures(parent, isWhiteMoved, captures) == 0) parents.add(PackedMove.encode(source, destination, 0, false));
+	}
+
+	//counts the moves of every position over a range of indexes, solving the ones decided by smaller tables
+	private class InitialTask extends RecursiveAction {
+
+		private final Tablebase tablebase;
+		private final byte[][] remainingMoves;
+		private final long start;
+		private final long end;
+
+		InitialTask(Tablebase tablebase, byte[][] remainingMoves, long start, long end) {
+			this.tablebase = tablebase;
+			this.remainingMoves = remainingMoves;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			if(end - start > CHUNK_SIZE) {
+				long middle = (start + end) >>> 1;
+				invokeAll(new InitialTask(tablebase, remainingMoves, start, middle),
+						  new InitialTask(tablebase, remainingMoves, middle, end));
+				return;
+			}
+
+			MoveGenerator moveGenerator = new MoveGenerator();
+			MoveBuffer buffer = new MoveBuffer();
+			BitboardPosition position = new BitboardPosition();
+			BitboardPosition child = new BitboardPosition();
+			for(long index=start; index<end; index++) {
+				if(!tablebase.getIndexer().getPosition(index, position)) continue;
+				for(boolean isWhiteToMove : new boolean[] {true, false}) {
+					byte value = countMoves(tablebase, position, isWhiteToMove, remainingMoves[isWhiteToMove ? 1 : 0], index,
+											moveGenerator, buffer, child);
+					if(value != Tablebase.ILLEGAL) tablebase.setValue(index, isWhiteToMove, value);
+				}
+			}
+		}
+	}
+
+	//positions still unsolved after the last pass can be played forever
+	private static class DrawTask extends RecursiveTask<Long> {
+
+		private final Tablebase tablebase;
+		private final long start;
+		private final long end;
+
+		DrawTask(Tablebase tablebase, long start, long end) {
+			this.tablebase = tablebase;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected Long compute() {
+			if(end - start > CHUNK_SIZE) {
+				long middle = (start + end) >>> 1;
+				DrawTask left = new DrawTask(tablebase, start, middle);
+				left.fork();
+				long draws = new DrawTask(tablebase, middle, end).compute();
+				return draws + left.join();
+			}
+
+			BitboardPosition position = new BitboardPosition();
+			long draws = 0;
+			for(long index=start; index<end; index++) {
+				if(!tablebase.getIndexer().getPosition(index, position)) continue;
+				for(boolean isWhiteToMove : new boolean[] {true, false}) {
+					if(tablebase.getValue(index, isWhiteToMove) == Tablebase.ILLEGAL) {
+						tablebase.setValue(index, isWhiteToMove, Tablebase.DRAW);
+						draws++;
+					}
+				}
+			}
+			return draws;
+		}
+	}
+
+}
@@ -0,0 +1,135 @@
+package draughts.library.tablebase;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import draughts.library.boardmodel.BitboardPosition;
+import draughts.library.tablebase.Tablebase.Result;
+
+public class TablebaseProber {
+
+	public static final int DEFAULT_CACHED_BLOCKS = 1024;
+
+	private final Path directory;
+	private final Map<MaterialSignature, Optional<CompressedTablebase>> tablebases; //empty when there is no file
+	private final BlockCache blockCache;
+	private final ThreadLocal<Inflater> inflaters;
+	private long probes;
+	private long cacheMisses;
+
+	public TablebaseProber(Path directory) {
+		this(directory, DEFAULT_CACHED_BLOCKS);
+	}
+
+	public TablebaseProber(Path directory, int cachedBlocks) {
+		this.directory = directory;
+		this.tablebases = new ConcurrentHashMap<>();
+		this.blockCache = new BlockCache(cachedBlocks);
+		this.inflaters = ThreadLocal.withInitial(Inflater::new);
+	}
+
+	public long getProbes() {
+		return probes;
+	}
+
+	public long getCacheMisses() {
+		return cacheMisses;
+	}
+
+	public boolean isAvailable(MaterialSignature signature) {
+		return getTablebase(signature) != null;
+	}
+
+	//null when the position has no tablebase
+	public Result probe(BitboardPosition position, boolean isWhiteToMove) {
+		long pieces = isWhiteToMove ? position.getWhitePieces() : position.getBlackPieces();
+		if(pieces == 0) return Result.LOSS;
+
+		CompressedTablebase tablebase = getTablebase(MaterialSignature.of(position));
+		if(tablebase == null) return null;
+
+		long entry = tablebase.getEntry(tablebase.getIndexer().getIndex(position), isWhiteToMove);
+		return Result.values()[CompressedTablebase.getValue(getBlock(tablebase, CompressedTablebase.getBlockNumber(entry)), entry)];
+	}
+
+	private CompressedTablebase getTablebase(MaterialSignature signature) {
+		return tablebases.computeIfAbsent(signature, key -> {
+			Path path = CompressedTablebase.getPath(directory, key);
+			if(!Files.exists(path)) return Optional.empty();
+			try {
+				return Optional.of(CompressedTablebase.open(path));
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}).orElse(null);
+	}
+
+	private byte[] getBlock(CompressedTablebase tablebase, int blockNumber) {
+		BlockKey key = new BlockKey(tablebase, blockNumber);
+		byte[] block;
+		synchronized(blockCache) {
+			probes++;
+			block = blockCache.get(key);
+		}
+		if(block != null) return block;
+
+		try {
+			block = tablebase.decompressBlock(blockNumber, inflaters.get()); //outside the lock, other threads keep probing
+		} catch (DataFormatException e) {
+			throw new IllegalStateException("Corrupted block " + blockNumber + " of " + tablebase.getSignature(), e);
+		}
+		synchronized(blockCache) {
+			cacheMisses++;
+			blockCache.put(key, block);
+		}
+		return block;
+	}
+
+	private static class BlockCache extends LinkedHashMap<BlockKey, byte[]> {
+
+		private final int capacity;
+
+		BlockCache(int capacity) {
+			super(16, 0.75f, true); //access order, so the eldest entry is the least recently used one
+			this.capacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<BlockKey, byte[]> eldest) {
+			return size() > capacity;
+		}
+	}
+
+	private static final class BlockKey {
+
+		private final CompressedTablebase tablebase;
+		private final int blockNumber;
+
+		BlockKey(CompressedTablebase tablebase, int blockNumber) {
+			this.tablebase = tablebase;
+			this.blockNumber = blockNumber;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			BlockKey that = (BlockKey) o;
+			return tablebase == that.tablebase && blockNumber == that.blockNumber;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(tablebase) + blockNumber;
+		}
+	}
+
+}
@@ -0,0 +1,155 @@
+package draughts.library.boardmodel;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BitboardPositionTest {
+	
+	BitboardPosition testObj;
+	
+	@Before
+	public void setUp() {
+		testObj = new BitboardPosition();
+	}
+	
+	@Test
+	public void addPiece_test() {
+		testObj.addPiece(1, Tile.State.BLACK_PAWN);
+		testObj.addPiece(27, Tile.State.WHITE_QUEEN);
+		testObj.addPiece(50, Tile.State.WHITE_PAWN);
+		
+		assertEquals(Tile.State.BLACK_PAWN, testObj.getState(1));
+		assertEquals(Tile.State.WHITE_QUEEN, testObj.getState(27));
+		assertEquals(Tile.State.WHITE_PAWN, testObj.getState(50));
+		assertEquals(Tile.State.EMPTY, testObj.getState(26));
+		assertEquals(2, testObj.getNumberOfWhitePieces());
+		assertEquals(1, testObj.getNumberOfBlackPieces());
+		assertEquals(47, Long.bitCount(testObj.getEmptyTiles()));
+	}
+	
+	@Test
+	public void removePiece_test() {
+		testObj.addPiece(13, Tile.State.BLACK_QUEEN);
+		testObj.addPiece(14, Tile.State.BLACK_PAWN);
+		
+		testObj.removePiece(13);
+		
+		assertTrue(testObj.isTileEmpty(13));
+		assertFalse(testObj.isTileEmpty(14));
+		assertEquals(0, testObj.getBlackQueens());
+	}
+	
+	@Test
+	public void movePiece_test() {
+		testObj.addPiece(32, Tile.State.WHITE_PAWN);
+		testObj.addPiece(5, Tile.State.BLACK_QUEEN);
+		
+		testObj.movePiece(32, 28);
+		testObj.movePiece(5, 46);
+		
+		assertEquals(Tile.State.EMPTY, testObj.getState(32));
+		assertEquals(Tile.State.WHITE_PAWN, testObj.getState(28));
+		assertEquals(Tile.State.EMPTY, testObj.getState(5));
+		assertEquals(Tile.State.BLACK_QUEEN, testObj.getState(46));
+	}
+	
+	@Test
+	public void hash_isUpdatedIncrementally() {
+		testObj.addPiece(32, Tile.State.WHITE_PAWN);
+		testObj.addPiece(28, Tile.State.BLACK_PAWN);
+		testObj.addPiece(5, Tile.State.BLACK_QUEEN);
+		assertEquals(Zobrist.hash(testObj), testObj.getHash());
+		
+		testObj.movePiece(5, 46);
+		testObj.removePiece(28);
+		assertEquals(Zobrist.hash(testObj), testObj.getHash());
+		
+		testObj.removePiece(32);
+		testObj.removePiece(46);
+		assertEquals(0, testObj.getHash());
+	}
+	
+	@Test
+	public void evaluation_isUpdatedIncrementally() {
+		testObj.addPiece(32, Tile.State.WHITE_PAWN);
+		testObj.addPiece(28, Tile.State.BLACK_PAWN);
+		testObj.addPiece(5, Tile.State.BLACK_QUEEN);
+		assertEquals(PieceSquareTable.evaluate(testObj), testObj.getEvaluation());
+		
+		testObj.movePiece(5, 46);
+		testObj.removePiece(28);
+		assertEquals(PieceSquareTable.evaluate(testObj), testObj.getEvaluation());
+		assertEquals(testObj.getEvaluation(), new BitboardPosition(testObj).getEvaluation());
+		
+		testObj.clear();
+		assertEquals(0, testObj.getEvaluation());
+	}
+	
+	@Test
+	public void hash_sameForTranspositions() {
+		BitboardPosition other = new BitboardPosition();
+		testObj.addPiece(31, Tile.State.WHITE_QUEEN);
+		testObj.movePiece(31, 26);
+		testObj.movePiece(26, 21);
+		other.addPiece(31, Tile.State.WHITE_QUEEN);
+		other.movePiece(31, 36);
+		other.movePiece(36, 41);
+		other.movePiece(41, 47);
+		
+		assertNotEquals(testObj.getHash(), other.getHash());
+		
+		other.movePiece(47, 21);
+		assertEquals(testObj.getHash(), other.getHash());
+	}
+	
+	@Test
+	public void isAnyMovePossible_blockedPawns() {
+		testObj.addPiece(46, Tile.State.WHITE_PAWN);
+		testObj.addPiece(41, Tile.State.BLACK_PAWN);
+		testObj.addPiece(37, Tile.State.BLACK_PAWN);
+		
+		assertFalse(testObj.isAnyMovePossible(true));
+		assertTrue(testObj.isAnyMovePossible(false));
+	}
+	
+	@Test
+	public void isAnyMovePossible_onlyBackwardCapture() {
+		testObj.addPiece(23, Tile.State.WHITE_PAWN);
+		testObj.addPiece(18, Tile.State.BLACK_PAWN);
+		testObj.addPiece(19, Tile.State.BLACK_PAWN);
+		testObj.addPiece(12, Tile.State.BLACK_PAWN);
+		testObj.addPiece(14, Tile.State.BLACK_PAWN);
+		testObj.addPiece(29, Tile.State.BLACK_PAWN);
+		
+		assertTrue(testObj.isAnyMovePossible(true)); //23x34 over 29
+		
+		testObj.addPiece(34, Tile.State.BLACK_PAWN);
+		assertFalse(testObj.isAnyMovePossible(true));
+	}
+	
+	@Test
+	public void isAnyMovePossible_surroundedQueen() {
+		testObj.addPiece(28, Tile.State.BLACK_QUEEN);
+		for(int index : new int[] {22, 23, 32, 33, 17, 19, 37, 39}) {
+			testObj.addPiece(index, Tile.State.WHITE_PAWN);
+		}
+		
+		assertFalse(testObj.isAnyMovePossible(false));
+		
+		testObj.removePiece(37);
+		assertTrue(testObj.isAnyMovePossible(false)); //queen jumps 32
+	}
+	
+	@Test
+	public void playableTiles_test() {
+		assertEquals(50, Long.bitCount(BitboardPosition.PLAYABLE_TILES));
+		assertEquals(0, BitboardPosition.PLAYABLE_TILES & 1L);
+		assertEquals(0, BitboardPosition.PLAYABLE_TILES & BitboardPosition.tileMask(51));
+	}
+
+}
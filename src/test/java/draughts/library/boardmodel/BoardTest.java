@@ -1,5 +1,40 @@
 package draughts.library.boardmodel;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import draughts.library.boardmodel.Piece.MoveDirection;
+
 public class BoardTest {
+	
+	@Test
+	public void rowAndColumnTables_matchTileIndexes() {
+		for(int index=1; index<=Board.PLAYABLE_TILES; index++) {
+			Tile tile = new Tile(Board.getRow(index), Board.getColumn(index));
+			assertEquals(index, tile.getIndex());
+		}
+	}
+	
+	@Test
+	public void rayTables_fromCentre() {
+		assertArrayEquals(new int[] {22, 17, 11, 6}, Board.getRay(28, MoveDirection.UP_LEFT));
+		assertArrayEquals(new int[] {23, 19, 14, 10, 5}, Board.getRay(28, MoveDirection.UP_RIGHT));
+		assertArrayEquals(new int[] {32, 37, 41, 46}, Board.getRay(28, MoveDirection.DOWN_LEFT));
+		assertArrayEquals(new int[] {33, 39, 44, 50}, Board.getRay(28, MoveDirection.DOWN_RIGHT));
+		assertEquals(22, Board.getNeighbour(28, MoveDirection.UP_LEFT));
+		assertEquals(17, Board.getJumpLanding(28, MoveDirection.UP_LEFT));
+	}
+	
+	@Test
+	public void rayTables_atEdges() {
+		assertEquals(0, Board.getRay(6, MoveDirection.UP_LEFT).length);
+		assertEquals(0, Board.getNeighbour(6, MoveDirection.DOWN_LEFT));
+		assertEquals(1, Board.getNeighbour(6, MoveDirection.UP_RIGHT));
+		assertEquals(0, Board.getJumpLanding(6, MoveDirection.UP_RIGHT));
+		assertEquals(0, Board.getRay(45, MoveDirection.DOWN_RIGHT).length);
+		assertEquals(9, Board.getRay(46, MoveDirection.UP_RIGHT).length);
+	}
 
 }
@@ -0,0 +1,70 @@
+package draughts.library.boardmodel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import draughts.library.managers.BoardManager;
+import draughts.library.managers.MoveManager;
+import draughts.library.movemodel.Hop;
+import draughts.library.movemodel.Move;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PieceSquareTableTest {
+	
+	@Test
+	public void getValue_colorsAreSymmetric() {
+		for(int index=1; index<=Board.PLAYABLE_TILES; index++) {
+			assertEquals(PieceSquareTable.getValue(Tile.State.WHITE_PAWN, index),
+					-PieceSquareTable.getValue(Tile.State.BLACK_PAWN, 51 - index));
+			assertEquals(PieceSquareTable.getValue(Tile.State.WHITE_QUEEN, index),
+					-PieceSquareTable.getValue(Tile.State.BLACK_QUEEN, 51 - index));
+			assertEquals(0, PieceSquareTable.getValue(Tile.State.EMPTY, index));
+		}
+	}
+	
+	@Test
+	public void getValue_terms() {
+		assertEquals(PieceSquareTable.PAWN_VALUE + PieceSquareTable.BACK_RANK_VALUE,
+				PieceSquareTable.getValue(Tile.State.WHITE_PAWN, 47));
+		assertEquals(PieceSquareTable.PAWN_VALUE + 5 * PieceSquareTable.TEMPO_VALUE + PieceSquareTable.CENTRE_VALUE,
+				PieceSquareTable.getValue(Tile.State.WHITE_PAWN, 23));
+		assertEquals(PieceSquareTable.PAWN_VALUE + 9 * PieceSquareTable.TEMPO_VALUE,
+				PieceSquareTable.getValue(Tile.State.WHITE_PAWN, 3));
+		assertEquals(PieceSquareTable.QUEEN_VALUE + PieceSquareTable.CENTRE_VALUE + PieceSquareTable.LONG_DIAGONAL_VALUE,
+				PieceSquareTable.getValue(Tile.State.WHITE_QUEEN, 28));
+		assertEquals(-PieceSquareTable.QUEEN_VALUE - PieceSquareTable.LONG_DIAGONAL_VALUE,
+				PieceSquareTable.getValue(Tile.State.BLACK_QUEEN, 46));
+	}
+	
+	@Test
+	public void evaluation_followsMovesOnBoard() {
+		BoardManager boardManager = new BoardManager();
+		boardManager.createStartingPosition();
+		assertEquals(0, boardManager.getBitboards().getEvaluation());
+		
+		ArrayList<Move<? extends Hop>> playedMoves = new ArrayList<>();
+		boolean isWhiteToMove = true;
+		for(int i=0; i<40; i++) {
+			ArrayList<Move<? extends Hop>> moves = new MoveManager().findAllCorrectMoves(boardManager, isWhiteToMove);
+			if(moves.isEmpty()) break;
+			Move<? extends Hop> move = moves.get((i * 7) % moves.size());
+			boardManager.makeWholeMove(move);
+			playedMoves.add(move);
+			isWhiteToMove = !isWhiteToMove;
+			assertEquals(PieceSquareTable.evaluate(boardManager.getBitboards()), boardManager.getBitboards().getEvaluation());
+		}
+		assertTrue(playedMoves.size() > 10);
+		
+		for(int i=playedMoves.size()-1; i>=0; i--) {
+			boardManager.reverseWholeMove(playedMoves.get(i));
+		}
+		assertEquals(0, boardManager.getBitboards().getEvaluation());
+	}
+	
+}
@@ -33,17 +33,11 @@ public class PieceTest {
 		Piece piece;
 		try {
 			piece = boardManager.findPieceByIndex(piecePosition);
-			ArrayList<Piece> oppositePieces = returnOppositePieces(piece.isWhite());
-			return piece.findCaptures(boardManager.getBoard(), oppositePieces);
+			return piece.findCaptures(boardManager.getBoard(), boardManager.getPiecesOnTiles());
 		} catch(NoPieceFoundInRequestedTileException ex) {
 			ex.printStackTrace();
 		}
 		return null;
 	}
 
-	public ArrayList<Piece> returnOppositePieces(boolean isMovingPieceWhite) {
-		if (isMovingPieceWhite) return boardManager.getBlackPieces();
-		else 					return boardManager.getWhitePieces();
-	}
-
 }
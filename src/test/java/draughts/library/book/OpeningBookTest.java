@@ -0,0 +1,107 @@
+package draughts.library.book;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import draughts.library.exceptions.WrongMoveException;
+import draughts.library.managers.GameEngine;
+import draughts.library.movemodel.Hop;
+import draughts.library.movemodel.Move;
+
+@RunWith(MockitoJUnitRunner.class)
+public class OpeningBookTest {
+	
+	OpeningBook testObj;
+	OpeningBookBuilder builder;
+	GameEngine gameEngine;
+	
+	@Before
+	public void setUp() throws IOException, WrongMoveException {
+		builder = new OpeningBookBuilder(4);
+		builder.addGames(Arrays.asList(
+				"1. 32-28 19-23 2. 28x19 14x23 3. 37-32 2-0",
+				"1. 32-28 18-23 2. 33-29 23x32 3. 37x28",
+				"1. 33-28 19-23 2. 28x19 14x23 1-1",
+				"32-28 19-23 28x19 14x23 *"));
+		Path path = Files.createTempFile("book", ".bin");
+		builder.write(path);
+		testObj = OpeningBook.open(path);
+		
+		gameEngine = new GameEngine();
+		gameEngine.startGame();
+	}
+	
+	@Test
+	public void build() {
+		assertEquals(4, builder.getNumberOfGames());
+		assertEquals(builder.getNumberOfEntries(), testObj.getNumberOfEntries());
+		assertEquals(11, testObj.getNumberOfEntries());
+	}
+	
+	@Test
+	public void findEntries_startingPosition() {
+		List<BookEntry> entries = testObj.findEntries(gameEngine.getPositionHash());
+		
+		assertEquals(2, entries.size());
+		assertEquals(32, entries.get(0).getSource());
+		assertEquals(28, entries.get(0).getDestination());
+		assertEquals(3, entries.get(0).getWeight());
+		assertEquals(33, entries.get(1).getSource());
+		assertEquals(1, entries.get(1).getWeight());
+	}
+	
+	@Test
+	public void findMove_followsTheBook() {
+		Move<? extends Hop> move = testObj.findMove(gameEngine);
+		gameEngine.getBoardManager().makeWholeMove(move);
+		gameEngine.finishMove(move);
+		
+		Move<? extends Hop> reply = testObj.findMove(gameEngine);
+		
+		assertEquals(28, move.getMoveDestination().getIndex());
+		assertEquals(19, reply.getMoveSource().getIndex());
+		assertEquals(23, reply.getMoveDestination().getIndex());
+	}
+	
+	@Test
+	public void findMove_outOfBook() {
+		gameEngine.setIsWhiteToMove(false);
+		
+		assertNull(testObj.findMove(gameEngine));
+		assertTrue(testObj.findEntries(0L).isEmpty());
+	}
+	
+	@Test(expected = WrongMoveException.class)
+	public void addGame_illegalMove() throws WrongMoveException {
+		builder.addGame("1. 32-26");
+	}
+	
+	@Test
+	public void addGame_illegalMove_leavesBookUntouched() {
+		int numberOfEntries = builder.getNumberOfEntries();
+		boolean isMoveRejected = false;
+		
+		try {
+			builder.addGame("1. 31-27 17-21 2. 32-26"); //first two moves are new to the book
+		} catch(WrongMoveException ex) {
+			isMoveRejected = true;
+		}
+		
+		assertTrue(isMoveRejected);
+		assertEquals(numberOfEntries, builder.getNumberOfEntries());
+		assertEquals(4, builder.getNumberOfGames());
+	}
+	
+}
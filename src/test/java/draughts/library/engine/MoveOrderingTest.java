@@ -0,0 +1,92 @@
+package draughts.library.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import draughts.library.managers.BoardManager;
+import draughts.library.managers.MoveManager;
+import draughts.library.movemodel.Hop;
+import draughts.library.movemodel.Move;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MoveOrderingTest {
+	
+	MoveOrdering testObj;
+	BoardManager boardManager;
+	
+	@Before
+	public void setUp() {
+		testObj = new MoveOrdering(SearchEngine.MAX_PLY);
+		boardManager = new BoardManager();
+		boardManager.createEmptyBoard();
+	}
+	
+	private ArrayList<Move<? extends Hop>> findMoves(boolean isWhiteToMove) {
+		return new MoveManager().findAllCorrectMoves(boardManager, isWhiteToMove);
+	}
+	
+	private Move<? extends Hop> findMove(ArrayList<Move<? extends Hop>> moves, int source, int destination) {
+		for(Move<? extends Hop> move : moves) {
+			if(move.doesSourceMatch(source) && move.doesDestinationMatch(destination)) return move;
+		}
+		return null;
+	}
+	
+	private void assertMove(Move<? extends Hop> move, int source, int destination) {
+		assertEquals(source, move.getMoveSource().getIndex());
+		assertEquals(destination, move.getMoveDestination().getIndex());
+	}
+	
+	@Test
+	public void orderMoves_hashMoveFirstThenPromotions() {
+		boardManager.addWhitePawn(7);
+		boardManager.addWhitePawn(45);
+		ArrayList<Move<? extends Hop>> moves = findMoves(true);
+		
+		testObj.orderMoves(moves, 0, 45, 40);
+		
+		assertEquals(3, moves.size());
+		assertMove(moves.get(0), 45, 40);
+		assertTrue(moves.get(1).isPromotion());
+		assertTrue(moves.get(2).isPromotion());
+	}
+	
+	@Test
+	public void orderMoves_killersBeforeHistory() {
+		boardManager.createStartingPosition();
+		ArrayList<Move<? extends Hop>> moves = findMoves(true);
+		testObj.updateForCutoff(findMove(moves, 31, 26), 3, 5);
+		testObj.updateForCutoff(findMove(moves, 34, 30), 3, 1);
+		testObj.updateForCutoff(findMove(moves, 33, 29), 4, 2);
+		
+		testObj.orderMoves(moves, 3, 0, 0);
+		
+		assertMove(moves.get(0), 34, 30);
+		assertMove(moves.get(1), 31, 26);
+		assertMove(moves.get(2), 33, 29); //killer of another ply, but best history
+		assertEquals(25, testObj.getHistoryScore(31, 26));
+	}
+	
+	@Test
+	public void newSearch_forgetsKillersAndAgesHistory() {
+		boardManager.createStartingPosition();
+		ArrayList<Move<? extends Hop>> moves = findMoves(true);
+		testObj.updateForCutoff(findMove(moves, 32, 28), 0, 4);
+		testObj.updateForCutoff(findMove(moves, 35, 30), 0, 2);
+		
+		testObj.newSearch();
+		testObj.orderMoves(moves, 0, 0, 0);
+		
+		assertMove(moves.get(0), 32, 28);
+		assertMove(moves.get(1), 35, 30);
+		assertEquals(8, testObj.getHistoryScore(32, 28));
+	}
+	
+}
@@ -0,0 +1,83 @@
+package draughts.library.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import draughts.library.boardmodel.BitboardPosition;
+import draughts.library.managers.BoardManager;
+import draughts.library.managers.GameEngine;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ParallelSearchTest {
+	
+	ParallelSearch testObj;
+	GameEngine gameEngine;
+	BoardManager boardManager;
+	
+	@Before
+	public void setUp() {
+		testObj = new ParallelSearch(new TranspositionTable(4), 4);
+		gameEngine = new GameEngine();
+		boardManager = gameEngine.getBoardManager();
+		boardManager.createEmptyBoard();
+		gameEngine.setIsWhiteToMove(true);
+	}
+	
+	@Test
+	public void search_capturesLastPiece() {
+		boardManager.addWhitePawn(28);
+		boardManager.addWhitePawn(46);
+		boardManager.addBlackPawn(22);
+		
+		SearchResult result = testObj.search(gameEngine, 4);
+		
+		assertEquals(28, result.getBestMove().getMoveSource().getIndex());
+		assertEquals(17, result.getBestMove().getMoveDestination().getIndex());
+		assertTrue(result.isWinFound());
+	}
+	
+	@Test
+	public void search_leavesBoardUnchanged() {
+		boardManager.createStartingPosition();
+		BitboardPosition before = new BitboardPosition(boardManager.getBitboards());
+		
+		SearchResult result = testObj.search(gameEngine, 6);
+		
+		assertNotNull(result.getBestMove());
+		assertEquals(6, result.getDepth());
+		assertEquals(before, boardManager.getBitboards());
+		assertEquals(20, boardManager.getWhitePieces().size());
+		assertTrue(gameEngine.getMoveManager().findAllCorrectMoves(boardManager, true).contains(result.getBestMove()));
+	}
+	
+	@Test
+	public void search_singleThreadMatchesSearchEngine() {
+		boardManager.createStartingPosition();
+		BoardManager otherBoard = new BoardManager(boardManager); //restoring captured pieces reorders the piece lists
+		
+		SearchResult parallelResult = new ParallelSearch(new TranspositionTable(4), 1).search(gameEngine, 5);
+		SearchResult result = new SearchEngine(new TranspositionTable(4)).search(otherBoard, true, 5);
+		
+		assertEquals(result.getScore(), parallelResult.getScore());
+		assertEquals(result.getNodes(), parallelResult.getNodes());
+	}
+	
+	@Test
+	public void findBestMove_moveTime() {
+		boardManager.createStartingPosition();
+		long start = System.currentTimeMillis();
+		
+		SearchResult result = testObj.findBestMove(gameEngine, TimeManager.forMoveTime(200));
+		
+		assertTrue(System.currentTimeMillis() - start < 1000);
+		assertNotNull(result.getBestMove());
+		assertEquals(20, boardManager.getBlackPieces().size());
+	}
+	
+}
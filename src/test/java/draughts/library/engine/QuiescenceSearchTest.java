@@ -0,0 +1,86 @@
+package draughts.library.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import draughts.library.boardmodel.BitboardPosition;
+import draughts.library.boardmodel.PieceSquareTable;
+import draughts.library.managers.BoardManager;
+
+@RunWith(MockitoJUnitRunner.class)
+public class QuiescenceSearchTest {
+	
+	QuiescenceSearch testObj;
+	Evaluator evaluator;
+	BoardManager boardManager;
+	
+	@Before
+	public void setUp() {
+		evaluator = new Evaluator() { //plain material keeps the expected scores readable
+			@Override
+			public int evaluate(BitboardPosition position, boolean isWhiteToMove) {
+				int evaluation = PieceSquareTable.PAWN_VALUE * (Long.bitCount(position.getWhitePawns()) - Long.bitCount(position.getBlackPawns())) +
+								 PieceSquareTable.QUEEN_VALUE * (Long.bitCount(position.getWhiteQueens()) - Long.bitCount(position.getBlackQueens()));
+				return isWhiteToMove ? evaluation : -evaluation;
+			}
+		};
+		testObj = new QuiescenceSearch(evaluator);
+		boardManager = new BoardManager();
+		boardManager.createEmptyBoard();
+	}
+	
+	@Test
+	public void evaluate_quietPosition() {
+		boardManager.createStartingPosition();
+		
+		assertEquals(evaluator.evaluate(boardManager, true), testObj.evaluate(boardManager, true));
+		assertEquals(0, testObj.getNodes());
+	}
+	
+	@Test
+	public void evaluate_resolvesForcedExchange() {
+		boardManager.addWhitePawn(14);
+		boardManager.addWhitePawn(22);
+		boardManager.addWhitePawn(43);
+		boardManager.addBlackPawn(12);
+		boardManager.addBlackPawn(18);
+		boardManager.addBlackPawn(38);
+		BitboardPosition before = new BitboardPosition(boardManager.getBitboards());
+		
+		int score = testObj.evaluate(boardManager, true);
+		
+		assertEquals(0, evaluator.evaluate(boardManager, true));
+		assertEquals(-PieceSquareTable.PAWN_VALUE, score);
+		assertTrue(testObj.getNodes() > 0);
+		assertEquals(before, boardManager.getBitboards());
+	}
+	
+	@Test
+	public void evaluate_noPiecesLeftAfterCaptures() {
+		boardManager.addWhitePawn(28);
+		boardManager.addBlackPawn(22);
+		
+		assertEquals(SearchEngine.WIN_SCORE - 1, testObj.evaluate(boardManager, true));
+		assertEquals(SearchEngine.WIN_SCORE - 1, testObj.evaluate(boardManager, false)); //whoever moves captures the last piece
+	}
+	
+	@Test
+	public void evaluate_threatExtension() {
+		boardManager.addWhitePawn(31);
+		boardManager.addWhitePawn(42);
+		boardManager.addBlackPawn(33);
+		boardManager.addBlackPawn(37);
+		
+		assertEquals(0, testObj.evaluate(boardManager, true));
+		
+		testObj.setThreatExtensions(1);
+		
+		assertEquals(-PieceSquareTable.PAWN_VALUE, testObj.evaluate(boardManager, true));
+	}
+	
+}
@@ -0,0 +1,187 @@
+package draughts.library.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import draughts.library.boardmodel.BitboardPosition;
+import draughts.library.managers.BoardManager;
+import draughts.library.managers.DrawArbiter;
+import draughts.library.managers.GameEngine;
+import draughts.library.managers.MoveManager;
+import draughts.library.movemodel.Hop;
+import draughts.library.movemodel.Move;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SearchEngineTest {
+	
+	SearchEngine testObj;
+	GameEngine gameEngine;
+	BoardManager boardManager;
+	
+	@Before
+	public void setUp() {
+		testObj = new SearchEngine(new TranspositionTable(1));
+		gameEngine = new GameEngine();
+		boardManager = gameEngine.getBoardManager();
+		boardManager.createEmptyBoard();
+		gameEngine.setIsWhiteToMove(true);
+	}
+	
+	private int minimax(boolean isWhiteToMove, int depth, int ply) {
+		ArrayList<Move<? extends Hop>> moves = new MoveManager().findAllCorrectMoves(boardManager, isWhiteToMove);
+		if(depth == 0) return new QuiescenceSearch(new Evaluator()).search(boardManager, isWhiteToMove,
+				-SearchEngine.WIN_SCORE - 1, SearchEngine.WIN_SCORE + 1, ply);
+		if(moves.isEmpty()) return -SearchEngine.WIN_SCORE + ply;
+		
+		int bestScore = Integer.MIN_VALUE;
+		for(Move<? extends Hop> move : moves) {
+			boardManager.makeWholeMove(move);
+			bestScore = Math.max(bestScore, -minimax(!isWhiteToMove, depth-1, ply+1));
+			boardManager.reverseWholeMove(move);
+		}
+		return bestScore;
+	}
+	
+	@Test
+	public void search_capturesLastPiece() {
+		boardManager.addWhitePawn(28);
+		boardManager.addWhitePawn(46);
+		boardManager.addBlackPawn(22);
+		
+		SearchResult result = testObj.search(gameEngine, 4);
+		
+		assertEquals(28, result.getBestMove().getMoveSource().getIndex());
+		assertEquals(17, result.getBestMove().getMoveDestination().getIndex());
+		assertEquals(SearchEngine.WIN_SCORE - 1, result.getScore());
+		assertTrue(result.isWinFound());
+	}
+	
+	@Test
+	public void search_noPiecesLeft() {
+		boardManager.addWhitePawn(6);
+		gameEngine.setIsWhiteToMove(false);
+		
+		SearchResult result = testObj.search(gameEngine, 3);
+		
+		assertNull(result.getBestMove());
+		assertEquals(-SearchEngine.WIN_SCORE, result.getScore());
+	}
+	
+	@Test
+	public void search_drawCounterRunsOutInTree() {
+		boardManager.addWhiteQueen(46);
+		boardManager.addWhiteQueen(50);
+		boardManager.addBlackQueen(5);
+		DrawArbiter drawArbiter = gameEngine.getDrawArbiter();
+		drawArbiter.setDrawConditions(DrawArbiter.DrawConditions.TWO_VS_ONE);
+		drawArbiter.setDrawCounter(10);
+		
+		assertTrue(testObj.search(gameEngine, 2).getScore() > 0);
+		
+		drawArbiter.setDrawCounter(1);
+		long state = drawArbiter.getState();
+		testObj.getTranspositionTable().clear();
+		
+		assertEquals(0, testObj.search(gameEngine, 2).getScore());
+		assertEquals(state, drawArbiter.getState());
+	}
+	
+	@Test
+	public void search_leavesBoardUnchanged() {
+		boardManager.createStartingPosition();
+		BitboardPosition before = new BitboardPosition(boardManager.getBitboards());
+		long hash = boardManager.getZobristHash();
+		
+		SearchResult result = testObj.search(gameEngine, 5);
+		
+		assertNotNull(result.getBestMove());
+		assertEquals(5, result.getDepth());
+		assertTrue(result.getNodes() > 0);
+		assertEquals(before, boardManager.getBitboards());
+		assertEquals(hash, boardManager.getZobristHash());
+		assertEquals(20, boardManager.getWhitePieces().size());
+		assertEquals(20, boardManager.getBlackPieces().size());
+	}
+	
+	@Test
+	public void search_scoreMatchesMinimax() {
+		boardManager.addWhitePawn(31);
+		boardManager.addWhitePawn(32);
+		boardManager.addWhitePawn(33);
+		boardManager.addWhitePawn(38);
+		boardManager.addWhitePawn(42);
+		boardManager.addBlackPawn(12);
+		boardManager.addBlackPawn(17);
+		boardManager.addBlackPawn(18);
+		boardManager.addBlackPawn(19);
+		boardManager.addBlackPawn(23);
+		
+		for(int depth=1; depth<=5; depth++) {
+			assertEquals(minimax(true, depth, 0), testObj.search(gameEngine, depth).getScore());
+			assertEquals(minimax(false, depth, 0), testObj.search(boardManager, false, depth).getScore());
+		}
+	}
+	
+	@Test
+	public void findBestMove_nodeBudget() {
+		boardManager.createStartingPosition();
+		
+		SearchResult result = testObj.findBestMove(gameEngine, TimeManager.forNodes(20000));
+		
+		assertNotNull(result.getBestMove());
+		assertTrue(result.getDepth() > 1);
+		assertTrue(testObj.getNodes() < 20000 + 1024); //budget is checked once every 1024 nodes
+		assertEquals(20, boardManager.getWhitePieces().size());
+		assertEquals(20, boardManager.getBlackPieces().size());
+	}
+	
+	@Test
+	public void findBestMove_moveTime() {
+		boardManager.createStartingPosition();
+		BitboardPosition before = new BitboardPosition(boardManager.getBitboards());
+		long start = System.currentTimeMillis();
+		
+		SearchResult result = testObj.findBestMove(gameEngine, TimeManager.forMoveTime(200));
+		
+		assertTrue(System.currentTimeMillis() - start < 1000);
+		assertNotNull(result.getBestMove());
+		assertEquals(before, boardManager.getBitboards());
+	}
+	
+	@Test
+	public void quiescenceSearch_stoppedSearch_unwindsAtOnce() {
+		boardManager.addWhitePawn(37);
+		boardManager.addWhitePawn(46);
+		boardManager.addBlackPawn(32);
+		boardManager.addBlackPawn(22);
+		boardManager.addBlackPawn(12);
+		BitboardPosition before = new BitboardPosition(boardManager.getBitboards());
+		
+		testObj.stop();
+		testObj.getQuiescenceSearch().evaluate(boardManager, true);
+		
+		assertEquals(1, testObj.getQuiescenceSearch().getNodes());
+		assertEquals(before, boardManager.getBitboards());
+	}
+	
+	@Test
+	public void findBestMove_abortedIterationIsDiscarded() {
+		boardManager.createStartingPosition();
+		SearchResult depthLimited = new SearchEngine(new TranspositionTable(1)).search(new BoardManager(boardManager), true, 1);
+		
+		SearchResult result = testObj.findBestMove(gameEngine, TimeManager.forNodes(1));
+		
+		assertEquals(1, result.getDepth());
+		assertEquals(depthLimited.getScore(), result.getScore());
+	}
+	
+}
@@ -0,0 +1,61 @@
+package draughts.library.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TimeManagerTest {
+	
+	TimeManager testObj;
+	
+	@Test
+	public void forMoveTime() {
+		testObj = TimeManager.forMoveTime(1010);
+		
+		assertEquals(500, testObj.getSoftLimitMillis());
+		assertEquals(1000, testObj.getHardLimitMillis());
+		assertTrue(testObj.canStartIteration(Long.MAX_VALUE - 1));
+		assertFalse(testObj.isHardLimitReached(Long.MAX_VALUE - 1));
+	}
+	
+	@Test
+	public void forClock() {
+		testObj = TimeManager.forClock(60010, 1000);
+		
+		assertEquals(2750, testObj.getSoftLimitMillis());
+		assertEquals(11000, testObj.getHardLimitMillis());
+	}
+	
+	@Test
+	public void forClock_hardLimitKeepsTimeOnClock() {
+		testObj = TimeManager.forClock(310, 2000);
+		
+		assertEquals(100, testObj.getHardLimitMillis());
+		assertEquals(100, testObj.getSoftLimitMillis());
+	}
+	
+	@Test
+	public void forNodes() {
+		testObj = TimeManager.forNodes(5000);
+		
+		assertTrue(testObj.canStartIteration(4999));
+		assertFalse(testObj.canStartIteration(5000));
+		assertFalse(testObj.isHardLimitReached(4999));
+		assertTrue(testObj.isHardLimitReached(5000));
+	}
+	
+	@Test
+	public void limitsReached() throws InterruptedException {
+		testObj = new TimeManager(0, 1, TimeManager.NO_LIMIT);
+		Thread.sleep(5);
+		
+		assertFalse(testObj.canStartIteration(0));
+		assertTrue(testObj.isHardLimitReached(0));
+	}
+	
+}
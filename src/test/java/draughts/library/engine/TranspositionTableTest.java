@@ -0,0 +1,109 @@
+package draughts.library.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import draughts.library.engine.TranspositionTable.Bound;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TranspositionTableTest {
+	
+	TranspositionTable testObj;
+	
+	@Before
+	public void setUp() {
+		testObj = new TranspositionTable(1);
+	}
+	
+	@Test
+	public void sizeInMegabytes() {
+		assertEquals(1024 * 1024 / 16, testObj.getNumberOfEntries());
+	}
+	
+	@Test
+	public void storeAndProbe() {
+		testObj.store(0x1234567890ABCDEFL, 7, Bound.LOWER, -250, 32, 28);
+		
+		long data = testObj.probe(0x1234567890ABCDEFL);
+		assertEquals(7, TranspositionTable.getDepth(data));
+		assertEquals(Bound.LOWER, TranspositionTable.getBound(data));
+		assertEquals(-250, TranspositionTable.getScore(data));
+		assertEquals(32, TranspositionTable.getBestMoveSource(data));
+		assertEquals(28, TranspositionTable.getBestMoveDestination(data));
+		assertEquals(0, testObj.probe(0x1234567890ABCDEEL));
+	}
+	
+	@Test
+	public void store_keepsBestMoveWhenNewEntryHasNone() {
+		testObj.store(42L, 3, Bound.EXACT, 10, 17, 21);
+		testObj.store(42L, 4, Bound.UPPER, 5, 0, 0);
+		
+		long data = testObj.probe(42L);
+		assertEquals(4, TranspositionTable.getDepth(data));
+		assertEquals(17, TranspositionTable.getBestMoveSource(data));
+		assertEquals(21, TranspositionTable.getBestMoveDestination(data));
+	}
+	
+	@Test
+	public void store_replacesShallowestEntryOfFullBucket() {
+		long bucketStride = testObj.getNumberOfEntries() / 4; //hashes differing by this stride share a bucket
+		for(int i=0; i<4; i++) {
+			testObj.store(1 + i * bucketStride, 10 - i, Bound.EXACT, i, 0, 0);
+		}
+		
+		testObj.store(1 + 4 * bucketStride, 9, Bound.EXACT, 4, 0, 0);
+		
+		assertEquals(0, testObj.probe(1 + 3 * bucketStride));
+		assertEquals(10, TranspositionTable.getDepth(testObj.probe(1)));
+		assertEquals(9, TranspositionTable.getDepth(testObj.probe(1 + 4 * bucketStride)));
+	}
+	
+	@Test
+	public void store_prefersEntriesFromOlderSearches() {
+		long bucketStride = testObj.getNumberOfEntries() / 4;
+		for(int i=0; i<4; i++) {
+			testObj.store(1 + i * bucketStride, 10 + i, Bound.EXACT, i, 0, 0);
+			if(i == 1) testObj.newSearch();
+		}
+		
+		testObj.store(1 + 4 * bucketStride, 1, Bound.EXACT, 4, 0, 0);
+		
+		assertEquals(0, testObj.probe(1));
+		assertEquals(11, TranspositionTable.getDepth(testObj.probe(1 + bucketStride)));
+	}
+	
+	@Test
+	public void concurrentAccess_neverReturnsMismatchedEntries() throws InterruptedException {
+		AtomicInteger mismatches = new AtomicInteger();
+		Thread[] threads = new Thread[4];
+		for(int t=0; t<threads.length; t++) {
+			long seed = t;
+			threads[t] = new Thread(() -> {
+				SplittableRandom random = new SplittableRandom(seed);
+				for(int i=0; i<200000; i++) {
+					long hash = random.nextLong(1 << 20);
+					testObj.store(hash, (int) (hash % 50), Bound.EXACT, (int) (hash % 1000), 0, 0);
+					long probedHash = random.nextLong(1 << 20);
+					long data = testObj.probe(probedHash);
+					if(data != 0 && (TranspositionTable.getDepth(data) != probedHash % 50 ||
+									 TranspositionTable.getScore(data) != probedHash % 1000)) 
+						mismatches.incrementAndGet();
+				}
+			});
+			threads[t].start();
+		}
+		for(Thread thread : threads) thread.join();
+		
+		assertEquals(0, mismatches.get());
+		assertTrue(testObj.getUsagePermill() > 0);
+	}
+
+}
@@ -12,6 +12,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 import draughts.library.movemodel.Capture;
 import draughts.library.movemodel.Hop;
 import draughts.library.movemodel.Move;
+import draughts.library.movemodel.PackedMove;
 
 import static org.junit.Assert.*;
 
@@ -210,6 +211,69 @@ public class BoardManagerTest extends BaseTest{
 		assertEquals(Tile.State.EMPTY, getTile(43).getState());
 	}
 	
+	@Test
+	public void bitboards_forStartingPosition() {
+		testObj.createStartingPosition();
+
+		BitboardPosition bitboards = testObj.getBitboards();
+		assertEquals(20, bitboards.getNumberOfWhitePieces());
+		assertEquals(20, bitboards.getNumberOfBlackPieces());
+		assertEquals(Tile.State.BLACK_PAWN, bitboards.getState(20));
+		assertEquals(Tile.State.WHITE_PAWN, bitboards.getState(31));
+		assertTrue(bitboards.isTileEmpty(25));
+	}
+
+	@Test
+	public void bitboards_followMovesAndPromotions() {
+		testObj.createEmptyBoard();
+		testObj.addWhitePawn(9);
+		testObj.addBlackPawn(19);
+		testObj.addWhitePawn(24);
+
+		Move<Capture> capture = generateMoveWithCaptures(24, new ArrayList<>(Arrays.asList(13)),
+				new ArrayList<>(Arrays.asList(19)));
+		testObj.makeWholeMove(capture);
+		Move<Hop> promotion = generateMove(9, 4);
+		testObj.makeWholeMove(promotion);
+
+		BitboardPosition bitboards = testObj.getBitboards();
+		assertEquals(Tile.State.WHITE_PAWN, bitboards.getState(13));
+		assertEquals(Tile.State.WHITE_QUEEN, bitboards.getState(4));
+		assertEquals(0, bitboards.getBlackPieces());
+
+		testObj.reverseWholeMove(promotion);
+		testObj.reverseWholeMove(capture);
+
+		assertEquals(Tile.State.WHITE_PAWN, bitboards.getState(9));
+		assertEquals(Tile.State.WHITE_PAWN, bitboards.getState(24));
+		assertEquals(Tile.State.BLACK_PAWN, bitboards.getState(19));
+		assertEquals(0, bitboards.getWhiteQueens());
+	}
+	
+	@Test
+	public void zobristHash_restoredAfterReversingMoves() {
+		testObj.createEmptyBoard();
+		testObj.addBlackPawn(5);
+		testObj.addWhiteQueen(10);
+		testObj.addWhitePawn(19);
+		testObj.addWhitePawn(28);
+		testObj.addWhiteQueen(38);
+		testObj.addWhitePawn(6);
+		long hash = testObj.getZobristHash();
+
+		Move<Capture> capture = generateMoveWithCaptures(5, new ArrayList<>(Arrays.asList(14, 23, 32, 43)),
+				new ArrayList<>(Arrays.asList(10, 19, 28, 38)));
+		testObj.makeWholeMove(capture);
+		assertEquals(Zobrist.hash(testObj.getBitboards()), testObj.getZobristHash());
+		Move<Hop> promotion = generateMove(6, 1);
+		testObj.makeWholeMove(promotion);
+		assertEquals(Zobrist.hash(testObj.getBitboards()), testObj.getZobristHash());
+
+		testObj.reverseWholeMove(promotion);
+		testObj.reverseWholeMove(capture);
+		assertEquals(hash, testObj.getZobristHash());
+	}
+	
 	@Test
 	public void findTileByIndex() {
 		testObj.createStartingPosition();
@@ -224,6 +288,25 @@ public class BoardManagerTest extends BaseTest{
 		assertEquals(Tile.State.WHITE_PAWN, getTile(50).getState());
 	}
 	
+	@Test
+	public void findTileByIndex_outOfRange() {
+		testObj.createEmptyBoard();
+
+		assertNull(getTile(0));
+		assertNull(getTile(51));
+	}
+
+	@Test
+	public void getTiles() {
+		testObj.createEmptyBoard();
+
+		for(int i=1; i<=Board.PLAYABLE_TILES; i++) {
+			Tile tile = testObj.getTiles()[i];
+			assertEquals(i, tile.getIndex());
+			assertEquals(tile, testObj.getBoard()[tile.getRow()-1][tile.getColumn()-1]);
+		}
+	}
+	
 	@Test 
 	public void findPieceByIndex() {
 		testObj.createStartingPosition();
@@ -244,6 +327,22 @@ public class BoardManagerTest extends BaseTest{
 		assertNull(piece);
 	}
 	
+	@Test
+	public void piecesOnTiles_followHopsAndCaptures() {
+		testObj.createEmptyBoard();
+		Piece whitePawn = testObj.addWhitePawn(27);
+		Piece blackPawn = testObj.addBlackPawn(22);
+
+		makeHop(27, 21);
+		assertNull(testObj.getPiecesOnTiles()[27]);
+		assertEquals(whitePawn, testObj.getPiecesOnTiles()[21]);
+
+		makeCapture(22, 27, 21);
+		assertNull(testObj.getPiecesOnTiles()[21]);
+		assertNull(testObj.getPiecesOnTiles()[22]);
+		assertEquals(blackPawn, testObj.getPiecesOnTiles()[27]);
+	}
+	
 	@Test
 	public void makeHop() {
 		testObj.createEmptyBoard();
@@ -642,4 +741,184 @@ public class BoardManagerTest extends BaseTest{
 		}
 	}
 	
+	@Test
+	public void copyConstructor_deepCopy() {
+		testObj.createEmptyBoard();
+		testObj.addWhitePawn(32);
+		testObj.addWhiteQueen(40);
+		testObj.addBlackPawn(18);
+		testObj.addBlackQueen(3);
+		long hash = testObj.getZobristHash();
+		
+		BoardManager copy = new BoardManager(testObj);
+		assertEquals(hash, copy.getZobristHash());
+		assertNotSame(testObj.getPiecesOnTiles()[40], copy.getPiecesOnTiles()[40]);
+		
+		copy.makeHop(copy.getPiecesOnTiles()[32], copy.findTileByIndex(28));
+		copy.removePieceFromBoard(copy.getPiecesOnTiles()[3]);
+		
+		assertEquals(hash, testObj.getZobristHash());
+		assertEquals(Tile.State.WHITE_PAWN, testObj.findTileByIndex(32).getState());
+		assertEquals(Tile.State.BLACK_QUEEN, testObj.findTileByIndex(3).getState());
+		assertEquals(2, testObj.getBlackPieces().size());
+		assertTrue(testObj.getIsBlackQueenOnBoard());
+		assertEquals(Tile.State.WHITE_PAWN, copy.findTileByIndex(28).getState());
+		assertEquals(1, copy.getBlackPieces().size());
+		assertFalse(copy.getIsBlackQueenOnBoard());
+	}
+	
+	@Test
+	public void copyConstructor_keepsPieceOrder() {
+		testObj.createStartingPosition();
+		testObj.makeHop(testObj.getPiecesOnTiles()[32], testObj.findTileByIndex(28));
+		testObj.removePieceFromBoard(testObj.getPiecesOnTiles()[31]);
+		testObj.addWhitePawn(31);
+		
+		BoardManager copy = new BoardManager(testObj);
+		
+		for(int i=0; i<testObj.getWhitePieces().size(); i++) {
+			assertEquals(testObj.getWhitePieces().get(i).getPosition().getIndex(), copy.getWhitePieces().get(i).getPosition().getIndex());
+		}
+		assertEquals(testObj.getBitboards().getEvaluation(), copy.getBitboards().getEvaluation());
+		assertEquals(Zobrist.hash(copy.getBitboards()), copy.getZobristHash());
+	}
+	
+	@Test
+	public void bitboardConstructor_test() {
+		BitboardPosition position = new BitboardPosition();
+		position.addPiece(32, Tile.State.WHITE_PAWN);
+		position.addPiece(40, Tile.State.WHITE_QUEEN);
+		position.addPiece(18, Tile.State.BLACK_PAWN);
+		
+		BoardManager boardManager = new BoardManager(position);
+		
+		assertEquals(position, boardManager.getBitboards());
+		assertEquals(position.getHash(), boardManager.getZobristHash());
+		assertEquals(Tile.State.WHITE_QUEEN, boardManager.findTileByIndex(40).getState());
+		assertTrue(boardManager.getPiecesOnTiles()[40].isQueen());
+		assertFalse(boardManager.getPiecesOnTiles()[18].isWhite());
+		assertEquals(2, boardManager.getWhitePieces().size());
+		assertEquals(1, boardManager.getBlackPieces().size());
+		assertTrue(boardManager.getIsWhiteQueenOnBoard());
+		assertFalse(boardManager.getIsBlackQueenOnBoard());
+		
+		boardManager.makeHop(boardManager.getPiecesOnTiles()[32], boardManager.findTileByIndex(27));
+		assertEquals(Tile.State.WHITE_PAWN, position.getState(32));
+	}
+	
+	@Test
+	public void findLongestConsecutiveCaptures_queensWithManyCaptureOptions() {
+		testObj.createEmptyBoard();
+		Piece whiteQueen = testObj.addWhiteQueen(42);
+		testObj.addWhiteQueen(45);
+		for(int index : new int[] {9, 10, 11, 12, 14, 17, 20, 21, 23, 33, 37, 40}) {
+			testObj.addBlackPawn(index);
+		}
+		long hash = testObj.getZobristHash();
+		
+		ArrayList<Move<Capture>> moves = testObj.findCapturesForAllPieces(true);
+		
+		assertEquals(11, moves.size()); //49 routes, but many take the same pieces and end on the same tile
+		for(Move<Capture> move : moves) {
+			assertEquals(9, move.getNumberOfHops());
+		}
+		assertEquals(hash, testObj.getZobristHash());
+		assertEquals(Tile.State.WHITE_QUEEN, testObj.findTileByIndex(42).getState());
+		assertTrue(testObj.findLongestConsecutiveCaptures(whiteQueen, 10).isEmpty());
+		assertEquals(testObj.findLongestConsecutiveCaptures(whiteQueen).size(),
+				testObj.findLongestConsecutiveCaptures(whiteQueen, 9).size());
+	}
+	
+	@Test
+	public void makeMove_unmakeMove_promotion() {
+		testObj.createEmptyBoard();
+		Piece whitePawn = testObj.addWhitePawn(7);
+		testObj.addBlackPawn(18);
+		UndoStack undoStack = new UndoStack();
+		long hash = testObj.getZobristHash();
+		
+		testObj.makeMove(PackedMove.encode(7, 2, 0, true), undoStack);
+		
+		assertEquals(Tile.State.WHITE_QUEEN, testObj.findTileByIndex(2).getState());
+		assertTrue(testObj.getPiecesOnTiles()[2].isQueen());
+		assertTrue(testObj.getIsWhiteQueenOnBoard());
+		assertEquals(1, undoStack.size());
+		
+		testObj.unmakeMove(undoStack);
+		
+		assertSame(whitePawn, testObj.getPiecesOnTiles()[7]);
+		assertSame(testObj.findTileByIndex(7), whitePawn.getPosition());
+		assertEquals(Tile.State.EMPTY, testObj.findTileByIndex(2).getState());
+		assertFalse(testObj.getIsWhiteQueenOnBoard());
+		assertEquals(hash, testObj.getZobristHash());
+		assertTrue(undoStack.isEmpty());
+	}
+	
+	@Test
+	public void makeMove_promotionAfterUnmake_reusesQueen() {
+		testObj.createEmptyBoard();
+		testObj.addWhitePawn(7);
+		testObj.addBlackPawn(18);
+		UndoStack undoStack = new UndoStack();
+		long hash = testObj.getZobristHash();
+		
+		testObj.makeMove(PackedMove.encode(7, 2, 0, true), undoStack);
+		Piece queen = testObj.getPiecesOnTiles()[2];
+		testObj.unmakeMove(undoStack);
+		testObj.makeMove(PackedMove.encode(7, 1, 0, true), undoStack);
+		
+		assertSame(queen, testObj.getPiecesOnTiles()[1]);
+		assertSame(testObj.findTileByIndex(1), queen.getPosition());
+		assertEquals(Tile.State.WHITE_QUEEN, testObj.findTileByIndex(1).getState());
+		assertEquals(Tile.State.EMPTY, testObj.findTileByIndex(2).getState());
+		assertTrue(testObj.getWhitePieces().contains(queen));
+		assertTrue(testObj.getIsWhiteQueenOnBoard());
+		
+		testObj.unmakeMove(undoStack);
+		
+		assertEquals(hash, testObj.getZobristHash());
+		assertFalse(testObj.getWhitePieces().contains(queen));
+		assertFalse(testObj.getIsWhiteQueenOnBoard());
+	}
+	
+	@Test
+	public void makeMove_unmakeMove_restoresTakenPieces() {
+		testObj.createEmptyBoard();
+		testObj.addWhiteQueen(42);
+		testObj.addWhiteQueen(45);
+		for(int index : new int[] {9, 10, 11, 12, 14, 17, 20, 21, 23, 33, 37, 40}) {
+			testObj.addBlackPawn(index);
+		}
+		testObj.addBlackQueen(3);
+		Piece blackQueen = testObj.addBlackQueen(28);
+		UndoStack undoStack = new UndoStack(1); //grows when needed
+		long hash = testObj.getZobristHash();
+		Piece[] piecesOnTiles = Arrays.copyOf(testObj.getPiecesOnTiles(), testObj.getPiecesOnTiles().length);
+		
+		ArrayList<Move<Capture>> moves = testObj.findCapturesForAllPieces(true);
+		for(Move<Capture> move : moves) {
+			move.classify();
+			long packedMove = PackedMove.encode(move);
+			testObj.makeMove(packedMove, undoStack);
+			ArrayList<Move<Capture>> replies = testObj.findCapturesForAllPieces(false);
+			long reply = PackedMove.encode(3, 8, 0, false);
+			if(!replies.isEmpty()) {
+				replies.get(0).classify();
+				reply = PackedMove.encode(replies.get(0));
+			}
+			testObj.makeMove(reply, undoStack);
+			testObj.unmakeMove(undoStack);
+			
+			assertEquals(Long.bitCount(PackedMove.getTakenTiles(packedMove)), 14 - testObj.getBlackPieces().size());
+			testObj.unmakeMove(undoStack);
+			
+			assertEquals(hash, testObj.getZobristHash());
+			assertArrayEquals(piecesOnTiles, testObj.getPiecesOnTiles());
+		}
+		assertEquals(14, testObj.getBlackPieces().size());
+		assertSame(testObj.findTileByIndex(28), blackQueen.getPosition());
+		assertTrue(testObj.getIsBlackQueenOnBoard());
+		assertFalse(moves.isEmpty());
+	}
+	
 }
@@ -1,6 +1,8 @@
 package draughts.library.managers;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import draughts.library.movemodel.Capture;
 import draughts.library.movemodel.Hop;
@@ -148,6 +150,39 @@ public class DrawArbiterTest extends BaseTest {
 		assertEquals(10, testObj.getDrawCounter());
 	}
 	
+	@Test
+	public void updatePositionHistory_positionRepeatedThrice() {
+		testObj.updatePositionHistory(1L, true);
+		testObj.updatePositionHistory(2L, false);
+		testObj.updatePositionHistory(3L, false);
+		testObj.updatePositionHistory(4L, false);
+		testObj.updatePositionHistory(1L, false);
+		testObj.updatePositionHistory(2L, false);
+		testObj.updatePositionHistory(3L, false);
+		testObj.updatePositionHistory(4L, false);
+		assertFalse(testObj.isGameDrawn());
+		
+		testObj.updatePositionHistory(1L, false);
+		
+		assertEquals(DrawArbiter.DrawConditions.POSITION_REPEATED_THRICE, testObj.getDrawConditions());
+		assertTrue(testObj.isGameDrawn());
+	}
+	
+	@Test
+	public void updatePositionHistory_irreversibleMoveResetsHistory() {
+		testObj.updatePositionHistory(1L, true);
+		testObj.updatePositionHistory(2L, false);
+		testObj.updatePositionHistory(1L, false);
+		testObj.updatePositionHistory(2L, false);
+		testObj.updatePositionHistory(1L, true);
+		testObj.updatePositionHistory(2L, false);
+		testObj.updatePositionHistory(1L, false);
+		
+		assertEquals(3, testObj.getPositionHistoryLength());
+		assertEquals(DrawArbiter.DrawConditions.NONE, testObj.getDrawConditions());
+		assertFalse(testObj.isGameDrawn());
+	}
+	
 	@Test
 	public void updateDrawCounter_normalConditions() {
 		boardManager.addWhitePawn(42);
@@ -216,4 +251,81 @@ public class DrawArbiterTest extends BaseTest {
 		assertEquals(7, testObj.getDrawCounter()); //capture - but counter doesn't reset in these conditions
 		
 	}
+
+	@Test
+	public void updateDrawCounter_stopsAtZero() {
+		testObj.setDrawConditions(DrawArbiter.DrawConditions.TWO_VS_ONE);
+		testObj.setDrawCounter(1);
+		
+		testObj.updateCounter(false, true);
+		testObj.updateCounter(false, true);
+		long state = testObj.getState();
+		testObj.setState(state);
+		
+		assertEquals(0, testObj.getDrawCounter());
+		assertEquals(DrawArbiter.DrawConditions.TWO_VS_ONE, testObj.getDrawConditions());
+		assertTrue(testObj.isGameDrawn());
+	}
+	
+	@Test
+	public void getState_negativeCounter_doesNotOverwriteOtherFields() {
+		testObj.updatePositionHistory(1L, true);
+		testObj.setDrawConditions(DrawArbiter.DrawConditions.NORMAL);
+		testObj.setDrawCounter(-1);
+		
+		testObj.setState(testObj.getState());
+		
+		assertEquals(DrawArbiter.DrawConditions.NORMAL, testObj.getDrawConditions());
+		assertEquals(1, testObj.getPositionHistoryLength());
+	}
+	
+	@Test
+	public void pushState_popState_restoresCounterAndHistory() {
+		testObj.updatePositionHistory(1L, true);
+		testObj.updatePositionHistory(2L, false);
+		testObj.updatePositionHistory(3L, false);
+		testObj.setDrawConditions(DrawArbiter.DrawConditions.NORMAL);
+		testObj.setDrawCounter(20);
+		long state = testObj.getState();
+		
+		testObj.pushState();
+		testObj.updateCounter(true, true);
+		testObj.updateConditions(true, 1, 2);
+		testObj.updatePositionHistory(4L, true);
+		testObj.pushState();
+		testObj.updatePositionHistory(5L, false);
+		assertEquals(DrawArbiter.DrawConditions.TWO_VS_ONE, testObj.getDrawConditions());
+		assertEquals(2, testObj.getPositionHistoryLength());
+		testObj.popState();
+		testObj.popState();
+		
+		assertEquals(state, testObj.getState());
+		assertEquals(20, testObj.getDrawCounter());
+		assertEquals(DrawArbiter.DrawConditions.NORMAL, testObj.getDrawConditions());
+		assertEquals(3, testObj.getPositionHistoryLength());
+		
+		testObj.updatePositionHistory(2L, false);
+		testObj.updatePositionHistory(3L, false);
+		testObj.updatePositionHistory(2L, false);
+		assertTrue(testObj.isGameDrawn()); //history from before the push still counts
+	}
+	
+	@Test
+	public void copyConstructor_independentHistory() {
+		testObj.updatePositionHistory(1L, true);
+		testObj.updatePositionHistory(2L, false);
+		testObj.setDrawCounter(7);
+		
+		DrawArbiter copy = new DrawArbiter(testObj);
+		copy.updatePositionHistory(1L, false);
+		copy.updatePositionHistory(2L, false);
+		copy.updatePositionHistory(1L, false);
+		testObj.updatePositionHistory(3L, false);
+		
+		assertTrue(copy.isGameDrawn());
+		assertFalse(testObj.isGameDrawn());
+		assertEquals(7, copy.getDrawCounter());
+		assertEquals(3, testObj.getPositionHistoryLength());
+		assertEquals(5, copy.getPositionHistoryLength());
+	}
 }
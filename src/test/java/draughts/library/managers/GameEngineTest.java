@@ -2,6 +2,7 @@ package draughts.library.managers;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.spy;
 
@@ -10,10 +11,12 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
+import draughts.library.boardmodel.Tile;
 import draughts.library.managers.GameEngine.GameState;
 import draughts.library.movemodel.Capture;
 import draughts.library.movemodel.Hop;
 import draughts.library.movemodel.Move;
+import draughts.library.movemodel.PackedMove;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -61,6 +64,17 @@ public class GameEngineTest extends BaseTest {
 		assertEquals(DrawArbiter.DrawConditions.NONE, testObj.getDrawArbiter().getDrawConditions());
 	}
 	
+	@Test
+	public void getPositionHash_dependsOnSideToMove() {
+		boardManager.createStartingPosition();
+		long whiteToMoveHash = testObj.getPositionHash();
+		
+		testObj.endPlayerTurn();
+		
+		assertEquals(boardManager.getZobristHash(), whiteToMoveHash);
+		assertNotEquals(whiteToMoveHash, testObj.getPositionHash());
+	}
+	
 	@Test
 	public void changePlayer() {
 		boardManager.createEmptyBoard();
@@ -157,6 +171,26 @@ public class GameEngineTest extends BaseTest {
 		assertEquals(GameEngine.GameState.DRAWN, testObj.getGameState());
 	}
 	
+	@Test
+	public void checkGameState_drawn_positionRepeatedThrice() {
+		boardManager.createEmptyBoard();
+		boardManager.addWhiteQueen(46);
+		boardManager.addWhitePawn(50);
+		boardManager.addBlackQueen(5);
+		boardManager.addBlackPawn(1);
+		testObj.getDrawArbiter().updatePositionHistory(testObj.getPositionHash(), true);
+
+		int[][] queenMoves = {{46, 41}, {5, 10}, {41, 46}, {10, 5}};
+		for(int i=0; i<8; i++) {
+			assertEquals(GameState.RUNNING, testObj.getGameState());
+			int[] queenMove = queenMoves[i % queenMoves.length];
+			testObj.finishMove(makeMove(queenMove[0], queenMove[1]));
+		}
+
+		assertEquals(DrawArbiter.DrawConditions.POSITION_REPEATED_THRICE, testObj.getDrawArbiter().getDrawConditions());
+		assertEquals(GameEngine.GameState.DRAWN, testObj.getGameState());
+	}
+	
 	@Test
 	public void checkGameState_drawn_3vs1Conditions() {
 		boardManager.createEmptyBoard();
@@ -197,4 +231,94 @@ public class GameEngineTest extends BaseTest {
 		assertEquals(0, testObj.getDrawArbiter().getDrawCounter());
 		assertEquals(GameEngine.GameState.DRAWN, testObj.getGameState());
 	}
+
+	@Test
+	public void makeMove_unmakeMove_restoresGameState() {
+		boardManager.createEmptyBoard();
+		boardManager.addWhiteQueen(33);
+		boardManager.addBlackQueen(5);
+		boardManager.addBlackQueen(2);
+
+		testObj.getDrawArbiter().setDrawConditions(DrawArbiter.DrawConditions.TWO_VS_ONE);
+		testObj.getDrawArbiter().setDrawCounter(1);
+		long hash = testObj.getPositionHash();
+		long drawArbiterState = testObj.getDrawArbiter().getState();
+
+		testObj.makeMove(PackedMove.encode(33, 50, 0, false));
+
+		assertEquals(0, testObj.getDrawArbiter().getDrawCounter());
+		assertEquals(GameState.DRAWN, testObj.getGameState());
+		assertFalse(testObj.getIsWhiteToMove());
+
+		testObj.unmakeMove();
+
+		assertEquals(1, testObj.getDrawArbiter().getDrawCounter());
+		assertEquals(DrawArbiter.DrawConditions.TWO_VS_ONE, testObj.getDrawArbiter().getDrawConditions());
+		assertEquals(GameState.RUNNING, testObj.getGameState());
+		assertTrue(testObj.getIsWhiteToMove());
+		assertEquals(hash, testObj.getPositionHash());
+		assertEquals(drawArbiterState, testObj.getDrawArbiter().getState());
+		assertTrue(testObj.getUndoStack().isEmpty());
+	}
+
+	@Test
+	public void finishMove_promotion_resetsCounterLikeMakeMove() {
+		boardManager.createEmptyBoard();
+		boardManager.addWhiteQueen(50);
+		boardManager.addWhitePawn(7);
+		boardManager.addWhitePawn(45);
+		boardManager.addBlackQueen(3);
+		boardManager.addBlackPawn(20);
+		boardManager.addBlackPawn(26);
+		testObj.getDrawArbiter().setDrawConditions(DrawArbiter.DrawConditions.NORMAL);
+		testObj.getDrawArbiter().setDrawCounter(10);
+		GameEngine copy = new GameEngine(testObj);
+		
+		testObj.finishMove(makeMove(7, 2));
+		copy.makeMove(PackedMove.encode(7, 2, 0, true));
+		
+		assertEquals(50, testObj.getDrawArbiter().getDrawCounter()); //pawn move, even if it ends as a queen
+		assertEquals(copy.getDrawArbiter().getState(), testObj.getDrawArbiter().getState());
+	}
+	
+	@Test
+	public void finishMove_boardSetUpByHand_firstPositionCountsForRepetition() {
+		boardManager.createEmptyBoard();
+		boardManager.addWhiteQueen(46);
+		boardManager.addWhitePawn(45);
+		boardManager.addWhitePawn(40);
+		boardManager.addBlackQueen(5);
+		boardManager.addBlackPawn(6);
+		boardManager.addBlackPawn(11);
+		GameEngine copy = new GameEngine(testObj);
+		int[][] queenMoves = {{46, 41}, {5, 10}, {41, 46}, {10, 5}, {46, 41}, {5, 10}, {41, 46}, {10, 5}};
+		
+		for(int[] queenMove : queenMoves) {
+			assertEquals(GameState.RUNNING, testObj.getGameState());
+			testObj.finishMove(makeMove(queenMove[0], queenMove[1]));
+			copy.makeMove(PackedMove.encode(queenMove[0], queenMove[1], 0, false));
+		}
+		
+		assertEquals(GameState.DRAWN, testObj.getGameState()); //first position is on the board for the third time
+		assertEquals(GameState.DRAWN, copy.getGameState());
+		assertEquals(copy.getDrawArbiter().getState(), testObj.getDrawArbiter().getState());
+	}
+	
+	@Test
+	public void copyConstructor_deepCopy() {
+		testObj.startGame();
+		GameEngine copy = new GameEngine(testObj);
+		long hash = testObj.getPositionHash();
+
+		copy.makeMove(PackedMove.encode(32, 28, 0, false));
+		copy.getDrawArbiter().setDrawCounter(3);
+
+		assertEquals(hash, testObj.getPositionHash());
+		assertTrue(testObj.getIsWhiteToMove());
+		assertEquals(50, testObj.getDrawArbiter().getDrawCounter());
+		assertEquals(Tile.State.WHITE_PAWN, boardManager.findTileByIndex(32).getState());
+		assertFalse(copy.getIsWhiteToMove());
+		assertEquals(GameState.RUNNING, copy.getGameState());
+		assertEquals(Tile.State.WHITE_PAWN, copy.getBoardManager().findTileByIndex(28).getState());
+	}
 }
@@ -0,0 +1,157 @@
+package draughts.library.managers;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import draughts.library.movemodel.Hop;
+import draughts.library.movemodel.Move;
+import draughts.library.movemodel.MoveBuffer;
+import draughts.library.movemodel.PackedMove;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MoveGeneratorTest extends BaseTest {
+	
+	MoveGenerator testObj;
+	MoveBuffer buffer;
+	
+	@Before
+	public void setUp() {
+		testObj = new MoveGenerator();
+		buffer = new MoveBuffer(4);
+		boardManager = new BoardManager();
+		boardManager.createEmptyBoard();
+	}
+	
+	public void assertSameMovesAsMoveManager(boolean isWhiteToMove) {
+		ArrayList<Move<? extends Hop>> moves = new MoveManager().findAllCorrectMoves(boardManager, isWhiteToMove);
+		long[] expected = new long[moves.size()];
+		for(int i=0; i<moves.size(); i++) {
+			expected[i] = PackedMove.encode(moves.get(i));
+		}
+		
+		testObj.generateMoves(boardManager.getBitboards(), isWhiteToMove, buffer);
+		long[] actual = new long[buffer.size()];
+		for(int i=0; i<buffer.size(); i++) {
+			actual[i] = buffer.get(i);
+		}
+		
+		Arrays.sort(expected);
+		Arrays.sort(actual);
+		assertArrayEquals(expected, actual);
+	}
+	
+	@Test
+	public void generateMoves_forStartingPosition() {
+		boardManager.createPiecesForStartingPosition();
+		
+		assertEquals(9, testObj.generateMoves(boardManager.getBitboards(), true, buffer));
+		assertSameMovesAsMoveManager(true);
+		assertSameMovesAsMoveManager(false);
+	}
+	
+	@Test
+	public void generateMoves_withQueens() {
+		boardManager.addWhitePawn(46);
+		boardManager.addWhitePawn(49);
+		boardManager.addWhitePawn(43);
+		boardManager.addWhiteQueen(35);
+		boardManager.addBlackPawn(21);
+		boardManager.addBlackPawn(16);
+		boardManager.addBlackPawn(22);
+		boardManager.addBlackPawn(19);
+		boardManager.addBlackQueen(48);
+		
+		assertSameMovesAsMoveManager(true);
+		assertSameMovesAsMoveManager(false);
+	}
+	
+	@Test
+	public void generateMoves_longestCaptureOnly() {
+		boardManager.addWhiteQueen(50);
+		boardManager.addWhitePawn(46);
+		boardManager.addBlackPawn(8);
+		boardManager.addBlackPawn(9);
+		boardManager.addBlackPawn(10);
+		boardManager.addBlackPawn(11);
+		boardManager.addBlackPawn(19);
+		boardManager.addBlackPawn(20);
+		boardManager.addBlackPawn(28);
+		boardManager.addBlackPawn(30);
+		boardManager.addBlackPawn(41);
+		
+		assertEquals(1, testObj.generateMoves(boardManager.getBitboards(), true, buffer));
+		assertEquals(7, PackedMove.getNumberOfTakenPieces(buffer.get(0)));
+		assertSameMovesAsMoveManager(true);
+		assertSameMovesAsMoveManager(false);
+	}
+	
+	@Test
+	public void generateMoves_capturesInCircle() {
+		boardManager.addBlackQueen(4);
+		boardManager.addWhitePawn(22);
+		boardManager.addWhitePawn(23);
+		boardManager.addWhiteQueen(32);
+		boardManager.addWhitePawn(33);
+		
+		assertEquals(4, testObj.generateMoves(boardManager.getBitboards(), false, buffer));
+		assertSameMovesAsMoveManager(false);
+	}
+	
+	@Test
+	public void generateMoves_promotion() {
+		boardManager.addWhitePawn(9);
+		boardManager.addBlackPawn(42);
+		
+		testObj.generateMoves(boardManager.getBitboards(), true, buffer);
+		for(int i=0; i<buffer.size(); i++) {
+			assertTrue(PackedMove.isPromotion(buffer.get(i)));
+		}
+		testObj.generateMoves(boardManager.getBitboards(), false, buffer);
+		for(int i=0; i<buffer.size(); i++) {
+			assertTrue(PackedMove.isPromotion(buffer.get(i)));
+		}
+	}
+	
+	@Test
+	public void createMove_fromPackedCapture() {
+		boardManager.addBlackPawn(9);
+		boardManager.addWhitePawn(13);
+		boardManager.addWhitePawn(23);
+		
+		testObj.generateMoves(boardManager.getBitboards(), false, buffer);
+		Move<? extends Hop> move = boardManager.createMove(buffer.get(0));
+		
+		assertEquals(2, move.getNumberOfHops());
+		assertTrue(move.isCapture());
+		assertEquals(29, move.getMoveDestination().getIndex());
+		assertEquals(buffer.get(0), PackedMove.encode(move));
+	}
+	
+	@Test
+	public void perftWithBuffers_matchesPerftWithMoveObjects() {
+		boardManager.createPiecesForStartingPosition();
+		
+		assertEquals(27117, new Perft().countNodes(boardManager.getBitboards(), true, 5));
+		
+		boardManager.createEmptyBoard();
+		boardManager.addWhiteQueen(50);
+		boardManager.addWhitePawn(33);
+		boardManager.addWhitePawn(37);
+		boardManager.addBlackPawn(28);
+		boardManager.addBlackPawn(19);
+		boardManager.addBlackPawn(14);
+		boardManager.addBlackQueen(5);
+		
+		assertEquals(new Perft().countNodes(boardManager, true, 5), new Perft().countNodes(boardManager.getBitboards(), true, 5));
+	}
+
+}
@@ -1,13 +1,17 @@
 package draughts.library.managers;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 
+import draughts.library.exceptions.NoCorrectMovesForSelectedPieceException;
 import draughts.library.exceptions.WrongMoveException;
 import org.junit.Before;
 import org.junit.Test;
@@ -126,4 +130,70 @@ public class MoveManagerTest extends BaseTest {
 		assertEquals(whitePiece1, correctMove.getMoveTakenPawns().get(0));
 		assertEquals(whitePiece2, correctMove.getMoveTakenPawns().get(1));
 	}
+
+	@Test
+	public void findCorrectDestinations_test() throws NoCorrectMovesForSelectedPieceException {
+		boardManager.addWhitePawn(33);
+		boardManager.addWhitePawn(46);
+		testObj.findAllCorrectMoves(boardManager, true);
+
+		assertEquals(Arrays.asList(28, 29), testObj.findCorrectDestinations(33));
+		assertEquals(Collections.singletonList(41), testObj.findCorrectDestinations(46));
+		assertTrue(testObj.isCorrectDestination(33, 29));
+		assertFalse(testObj.isCorrectDestination(33, 38));
+		assertFalse(testObj.isCorrectDestination(97, 29));
+	}
+
+	@Test (expected = NoCorrectMovesForSelectedPieceException.class)
+	public void findCorrectDestinations_pieceWithoutMoves() throws NoCorrectMovesForSelectedPieceException {
+		boardManager.addWhitePawn(33);
+		boardManager.addWhitePawn(29);
+		boardManager.addBlackPawn(23);
+		testObj.findAllCorrectMoves(boardManager, true);
+
+		testObj.findCorrectDestinations(33); //only 29 can capture
+	}
+
+	@Test
+	public void findMovesForPiece_sameCapturesInDifferentOrder() throws WrongMoveException, NoCorrectMovesForSelectedPieceException {
+		boardManager.addWhitePawn(38);
+		boardManager.addBlackPawn(32);
+		boardManager.addBlackPawn(33);
+		boardManager.addBlackPawn(22);
+		boardManager.addBlackPawn(23);
+		testObj.findAllCorrectMoves(boardManager, true);
+
+		ArrayList<Move<? extends Hop>> moves = testObj.findMovesForPiece(38, 38);
+		assertEquals(1, moves.size()); //both ways round the ring are one move
+		assertEquals(1, testObj.findMovesForPiece(38).size());
+		assertSame(moves.get(0), testObj.convertToMove(38, 38, new ArrayList<>(Arrays.asList(32, 22, 23, 33))));
+		assertSame(moves.get(0), testObj.convertToMove(38, 38, new ArrayList<>(Arrays.asList(33, 23, 22, 32))));
+	}
+
+	@Test
+	public void convertToMove_indexFollowsNewMoves() throws WrongMoveException {
+		boardManager.addWhitePawn(43);
+		testObj.findAllCorrectMoves(boardManager, true);
+		testObj.convertToMove(43, 38, new ArrayList<>());
+		boardManager.addWhitePawn(44);
+
+		testObj.getPossibleMoves().clear();
+		testObj.findAllCorrectMoves(boardManager, true);
+
+		assertEquals(44, testObj.convertToMove(44, 39, new ArrayList<>()).getMoveSource().getIndex());
+	}
+
+	@Test
+	public void convertToMove_listRefilledWithAsManyMoves() throws WrongMoveException {
+		boardManager.addWhitePawn(43);
+		boardManager.addBlackPawn(8);
+		testObj.findAllCorrectMoves(boardManager, true);
+		testObj.convertToMove(43, 38, new ArrayList<>());
+
+		testObj.getPossibleMoves().clear();
+		testObj.getPossibleMoves().addAll(boardManager.findMovesForAllPieces(false)); //two moves again
+
+		assertEquals(8, testObj.convertToMove(8, 12, new ArrayList<>()).getMoveSource().getIndex());
+		assertFalse(testObj.isCorrectDestination(43, 38));
+	}
 }
@@ -0,0 +1,104 @@
+package draughts.library.managers;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PerftTest {
+	
+	Perft testObj;
+	BoardManager boardManager;
+	
+	@Before
+	public void setUp() {
+		testObj = new Perft();
+		boardManager = new BoardManager();
+	}
+	
+	@Test
+	public void countNodes_forStartingPosition() {
+		boardManager.createStartingPosition();
+		
+		assertEquals(1, testObj.countNodes(boardManager, true, 0));
+		assertEquals(9, testObj.countNodes(boardManager, true, 1));
+		assertEquals(81, testObj.countNodes(boardManager, true, 2));
+		assertEquals(658, testObj.countNodes(boardManager, true, 3));
+		assertEquals(4265, testObj.countNodes(boardManager, true, 4));
+		assertEquals(27117, testObj.countNodes(boardManager, true, 5));
+		assertEquals(167140, testObj.countNodes(boardManager, true, 6)); //deeper counts are checked by PerftBenchmark
+	}
+	
+	@Test
+	public void countNodes_sameCapturesByAnotherRoute_countedOnce() {
+		boardManager.createEmptyBoard();
+		boardManager.addWhitePawn(37);
+		boardManager.addBlackPawn(32);
+		boardManager.addBlackPawn(22);
+		boardManager.addBlackPawn(21);
+		boardManager.addBlackPawn(31);
+		boardManager.addBlackPawn(5);
+		
+		assertEquals(1, testObj.countNodes(boardManager, true, 1)); //the ring can be taken both ways round
+		assertEquals(1, testObj.countNodesInParallel(boardManager, true, 2, 2));
+	}
+	
+	@Test
+	public void countNodes_bitboards_forStartingPosition() {
+		boardManager.createStartingPosition();
+		
+		assertEquals(27117, testObj.countNodes(boardManager.getBitboards(), true, 5));
+		assertEquals(167140, testObj.countNodes(boardManager.getBitboards(), true, 6));
+	}
+	
+	@Test
+	public void countNodes_leavesPositionUntouched() {
+		boardManager.createStartingPosition();
+		long whitePieces = boardManager.getBitboards().getWhitePieces();
+		long blackPieces = boardManager.getBitboards().getBlackPieces();
+		
+		testObj.countNodes(boardManager, true, 4);
+		
+		assertEquals(whitePieces, boardManager.getBitboards().getWhitePieces());
+		assertEquals(blackPieces, boardManager.getBitboards().getBlackPieces());
+		assertEquals(20, boardManager.getWhitePieces().size());
+		assertEquals(20, boardManager.getBlackPieces().size());
+	}
+	
+	@Test
+	public void countNodes_withQueensAndCaptures_allModesAgree() {
+		boardManager.createEmptyBoard();
+		boardManager.addWhiteQueen(50);
+		boardManager.addWhitePawn(33);
+		boardManager.addWhitePawn(37);
+		boardManager.addBlackPawn(28);
+		boardManager.addBlackPawn(19);
+		boardManager.addBlackPawn(14);
+		boardManager.addBlackQueen(5);
+		
+		long sequentialNodes = testObj.countNodes(boardManager, true, 5);
+		long cachedNodes = new Perft(true).countNodes(boardManager, true, 5);
+		long parallelNodes = new Perft(true).countNodesInParallel(boardManager, true, 5, 4);
+		
+		assertEquals(sequentialNodes, cachedNodes);
+		assertEquals(sequentialNodes, parallelNodes);
+	}
+	
+	@Test
+	public void countNodes_smallCache_replacedEntriesStillCountRight() {
+		boardManager.createStartingPosition();
+		
+		assertEquals(27117, new Perft(1).countNodes(boardManager, true, 5));
+	}
+	
+	@Test
+	public void countNodesInParallel_forStartingPosition() {
+		boardManager.createStartingPosition();
+		
+		assertEquals(27117, testObj.countNodesInParallel(boardManager, true, 5, 4));
+	}
+
+}
@@ -0,0 +1,90 @@
+package draughts.library.managers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import draughts.library.boardmodel.Tile;
+import draughts.library.movemodel.PackedMove;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PositionSnapshotTest {
+	
+	PositionSnapshot testObj;
+	GameEngine gameEngine;
+	
+	@Before
+	public void setUp() {
+		gameEngine = new GameEngine();
+		gameEngine.startGame();
+		gameEngine.makeMove(PackedMove.encode(32, 28, 0, false));
+		testObj = gameEngine.createSnapshot();
+	}
+	
+	@Test
+	public void snapshot_notChangedByGame() {
+		long hash = gameEngine.getPositionHash();
+		
+		gameEngine.makeMove(PackedMove.encode(19, 23, 0, false));
+		
+		assertEquals(hash, testObj.getPositionHash());
+		assertFalse(testObj.getIsWhiteToMove());
+		assertEquals(Tile.State.BLACK_PAWN, testObj.getState(19));
+		assertEquals(Tile.State.EMPTY, testObj.getState(23));
+		assertEquals(20, testObj.getNumberOfBlackPieces());
+		assertEquals(GameEngine.GameState.RUNNING, testObj.getGameState());
+		assertTrue(testObj.isAnyMovePossible());
+		assertNotEquals(testObj, gameEngine.createSnapshot());
+		
+		gameEngine.unmakeMove();
+		assertEquals(testObj, gameEngine.createSnapshot());
+	}
+	
+	@Test
+	public void createGameEngine_independentCopies() {
+		GameEngine first = testObj.createGameEngine();
+		GameEngine second = testObj.createGameEngine();
+		
+		first.makeMove(PackedMove.encode(19, 23, 0, false));
+		
+		assertNotSame(first.getBoardManager(), second.getBoardManager());
+		assertEquals(gameEngine.getPositionHash(), second.getPositionHash());
+		assertEquals(Tile.State.BLACK_PAWN, second.getBoardManager().findTileByIndex(19).getState());
+		assertEquals(gameEngine.getBoardManager().getZobristHash(), testObj.createBoardManager().getZobristHash());
+		assertFalse(second.getIsWhiteToMove());
+		assertTrue(first.getIsWhiteToMove());
+	}
+	
+	@Test
+	public void createGameEngine_keepsRepetitionHistory() {
+		GameEngine game = new GameEngine();
+		game.getBoardManager().createEmptyBoard();
+		game.getBoardManager().addWhiteQueen(46);
+		game.getBoardManager().addBlackQueen(5);
+		game.getBoardManager().addBlackPawn(6);
+		game.setIsWhiteToMove(true);
+		game.setGameState(GameEngine.GameState.RUNNING);
+		game.getDrawArbiter().updatePositionHistory(game.getPositionHash(), true);
+		game.makeMove(PackedMove.encode(46, 41, 0, false));
+		game.makeMove(PackedMove.encode(5, 10, 0, false));
+		game.makeMove(PackedMove.encode(41, 46, 0, false));
+		game.makeMove(PackedMove.encode(10, 5, 0, false));
+		game.makeMove(PackedMove.encode(46, 41, 0, false));
+		game.makeMove(PackedMove.encode(5, 10, 0, false));
+		game.makeMove(PackedMove.encode(41, 46, 0, false));
+		
+		GameEngine copy = game.createSnapshot().createGameEngine();
+		copy.makeMove(PackedMove.encode(10, 5, 0, false));
+		
+		assertEquals(GameEngine.GameState.DRAWN, copy.getGameState());
+		assertEquals(GameEngine.GameState.RUNNING, game.getGameState());
+	}
+	
+}
@@ -0,0 +1,66 @@
+package draughts.library.tablebase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import draughts.library.boardmodel.BitboardPosition;
+import draughts.library.boardmodel.Tile;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PositionIndexerTest {
+	
+	PositionIndexer testObj;
+	
+	@Test
+	public void getSize() {
+		assertEquals(50 * 50, new PositionIndexer(new MaterialSignature(0, 1, 0, 1)).getSize());
+		assertEquals(19600 * 45, new PositionIndexer(new MaterialSignature(0, 3, 1, 0)).getSize());
+		assertEquals(45 * 990, new PositionIndexer(new MaterialSignature(1, 0, 2, 0)).getSize());
+	}
+	
+	@Test
+	public void getIndex_roundTrip() {
+		testObj = new PositionIndexer(new MaterialSignature(1, 1, 2, 0));
+		BitboardPosition position = new BitboardPosition();
+		int numberOfPositions = 0;
+		
+		for(long index=0; index<testObj.getSize(); index++) {
+			if(testObj.getPosition(index, position)) {
+				numberOfPositions++;
+				assertEquals(index, testObj.getIndex(position));
+				assertEquals(4, Long.bitCount(position.getOccupiedTiles()));
+				assertEquals(0, position.getWhitePawns() & 0b111110L); //no white pawns on tiles 1 to 5
+			}
+		}
+		
+		int expectedNumberOfPositions = 0;
+		for(int whiteQueen=1; whiteQueen<=50; whiteQueen++) {
+			for(int whitePawn=6; whitePawn<=50; whitePawn++) {
+				for(int blackPawn=1; blackPawn<=45; blackPawn++) {
+					for(int otherBlackPawn=blackPawn+1; otherBlackPawn<=45; otherBlackPawn++) {
+						if(whiteQueen != whitePawn && whiteQueen != blackPawn && whiteQueen != otherBlackPawn &&
+						   whitePawn != blackPawn && whitePawn != otherBlackPawn) expectedNumberOfPositions++;
+					}
+				}
+			}
+		}
+		assertEquals(expectedNumberOfPositions, numberOfPositions);
+	}
+	
+	@Test
+	public void getPosition_overlappingPieces() {
+		testObj = new PositionIndexer(new MaterialSignature(0, 1, 0, 1));
+		BitboardPosition position = new BitboardPosition();
+		
+		assertFalse(testObj.getPosition(0, position)); //both queens on tile 1
+		assertTrue(testObj.getPosition(1, position));
+		assertEquals(Tile.State.WHITE_QUEEN, position.getState(2));
+		assertEquals(Tile.State.BLACK_QUEEN, position.getState(1));
+	}
+	
+}
@@ -0,0 +1,87 @@
+package draughts.library.tablebase;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import draughts.library.boardmodel.BitboardPosition;
+import draughts.library.boardmodel.Tile;
+import draughts.library.managers.MoveGenerator;
+import draughts.library.movemodel.MoveBuffer;
+import draughts.library.tablebase.Tablebase.Result;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TablebaseGeneratorTest {
+	
+	TablebaseGenerator testObj;
+	
+	@Before
+	public void setUp() {
+		testObj = new TablebaseGenerator(2);
+	}
+	
+	private Result getResult(BitboardPosition position, boolean isWhiteToMove) {
+		long pieces = isWhiteToMove ? position.getWhitePieces() : position.getBlackPieces();
+		if(pieces == 0) return Result.LOSS;
+		return testObj.getTablebases().get(MaterialSignature.of(position)).getResult(position, isWhiteToMove);
+	}
+	
+	//every solved value has to agree with the values of the positions one move later
+	private void assertConsistent(Tablebase tablebase) {
+		MoveGenerator moveGenerator = new MoveGenerator();
+		MoveBuffer buffer = new MoveBuffer();
+		BitboardPosition position = new BitboardPosition();
+		BitboardPosition child = new BitboardPosition();
+		
+		for(long index=0; index<tablebase.getSize(); index++) {
+			if(!tablebase.getIndexer().getPosition(index, position)) continue;
+			for(boolean isWhiteToMove : new boolean[] {true, false}) {
+				boolean isAnyChildLost = false;
+				boolean isEveryChildWon = true;
+				moveGenerator.generateMoves(position, isWhiteToMove, buffer);
+				for(int i=0; i<buffer.size(); i++) {
+					child.copyFrom(position);
+					child.makeMove(buffer.get(i));
+					Result childResult = getResult(child, !isWhiteToMove);
+					isAnyChildLost |= childResult == Result.LOSS;
+					isEveryChildWon &= childResult == Result.WIN;
+				}
+				
+				Result expected = isAnyChildLost ? Result.WIN : isEveryChildWon ? Result.LOSS : Result.DRAW;
+				assertEquals(expected, tablebase.getResult(position, isWhiteToMove));
+			}
+		}
+	}
+	
+	@Test
+	public void generate_pawnAgainstPawn() {
+		Tablebase tablebase = testObj.generate(new MaterialSignature(1, 0, 1, 0));
+		
+		assertConsistent(tablebase);
+		assertConsistent(testObj.getTablebases().get(new MaterialSignature(0, 1, 1, 0)));
+		
+		BitboardPosition position = new BitboardPosition();
+		position.addPiece(28, Tile.State.WHITE_PAWN);
+		position.addPiece(22, Tile.State.BLACK_PAWN);
+		assertEquals(Result.WIN, tablebase.getResult(position, true));
+		assertEquals(Result.WIN, tablebase.getResult(position, false));
+	}
+	
+	@Test
+	public void generate_queensTwoAgainstOne() {
+		Tablebase tablebase = testObj.generate(new MaterialSignature(0, 2, 0, 1));
+		
+		assertConsistent(tablebase);
+		assertEquals(2, testObj.getTablebases().size()); //one against one is needed first
+		
+		BitboardPosition position = new BitboardPosition();
+		position.addPiece(46, Tile.State.BLACK_QUEEN);
+		position.addPiece(15, Tile.State.WHITE_QUEEN);
+		position.addPiece(3, Tile.State.WHITE_QUEEN);
+		assertEquals(Result.DRAW, tablebase.getResult(position, true)); //single queen on the long diagonal holds
+	}
+	
+}
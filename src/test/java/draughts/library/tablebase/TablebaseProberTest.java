@@ -0,0 +1,110 @@
+package draughts.library.tablebase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import draughts.library.boardmodel.BitboardPosition;
+import draughts.library.boardmodel.Tile;
+import draughts.library.tablebase.Tablebase.Result;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TablebaseProberTest {
+	
+	TablebaseProber testObj;
+	TablebaseGenerator generator;
+	Path directory;
+	
+	@Before
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("tablebases");
+		generator = new TablebaseGenerator(2);
+		generator.generateAll(2, directory);
+		testObj = new TablebaseProber(directory, 2);
+	}
+	
+	@Test
+	public void probe_matchesGeneratedTables() {
+		BitboardPosition position = new BitboardPosition();
+		
+		for(Tablebase tablebase : generator.getTablebases().values()) {
+			assertTrue(Files.exists(CompressedTablebase.getPath(directory, tablebase.getSignature())));
+			for(long index=0; index<tablebase.getSize(); index++) {
+				if(!tablebase.getIndexer().getPosition(index, position)) continue;
+				assertEquals(tablebase.getResult(position, true), testObj.probe(position, true));
+				assertEquals(tablebase.getResult(position, false), testObj.probe(position, false));
+			}
+		}
+		assertTrue(testObj.getCacheMisses() > 2);
+		assertTrue(testObj.getCacheMisses() < testObj.getProbes());
+	}
+	
+	@Test
+	public void probe_missingTablebase() {
+		BitboardPosition position = new BitboardPosition();
+		position.addPiece(28, Tile.State.WHITE_QUEEN);
+		position.addPiece(29, Tile.State.WHITE_QUEEN);
+		position.addPiece(3, Tile.State.BLACK_QUEEN);
+		
+		assertNull(testObj.probe(position, true));
+		assertFalse(testObj.isAvailable(MaterialSignature.of(position)));
+		assertTrue(testObj.isAvailable(new MaterialSignature(0, 1, 0, 1)));
+	}
+	
+	@Test
+	public void probe_noPiecesLeft() {
+		BitboardPosition position = new BitboardPosition();
+		position.addPiece(28, Tile.State.WHITE_QUEEN);
+		
+		assertEquals(Result.LOSS, testObj.probe(position, false));
+	}
+	
+	@Test
+	public void open_readsHeaderAndIndex() throws IOException {
+		Tablebase tablebase = generator.getTablebases().get(new MaterialSignature(1, 0, 1, 0));
+		
+		CompressedTablebase compressed = CompressedTablebase.open(CompressedTablebase.getPath(directory, tablebase.getSignature()));
+		
+		assertEquals(tablebase.getSignature(), compressed.getSignature());
+		assertEquals(tablebase.getSize(), compressed.getSize());
+		assertEquals((2 * tablebase.getSize() + 4 * CompressedTablebase.BLOCK_SIZE - 1) / (4 * CompressedTablebase.BLOCK_SIZE),
+				compressed.getNumberOfBlocks());
+	}
+	
+	@Test(expected = IOException.class)
+	public void open_truncatedBlockIndex() throws IOException {
+		Path path = CompressedTablebase.getPath(directory, new MaterialSignature(1, 0, 1, 0));
+		Path truncatedPath = directory.resolve("truncated" + CompressedTablebase.FILE_EXTENSION);
+		Files.write(truncatedPath, Arrays.copyOf(Files.readAllBytes(path), 24)); //header and half of the first offset
+		
+		CompressedTablebase.open(truncatedPath);
+	}
+	
+	@Test(expected = DataFormatException.class)
+	public void decompressBlock_truncatedBlock() throws IOException, DataFormatException {
+		Path path = CompressedTablebase.getPath(directory, new MaterialSignature(1, 0, 1, 0));
+		ByteBuffer file = ByteBuffer.wrap(Files.readAllBytes(path));
+		int numberOfBlocks = file.getInt(16);
+		int endOffsetPosition = 20 + 8 * numberOfBlocks;
+		file.putLong(endOffsetPosition, file.getLong(endOffsetPosition) - 4); //last block loses its last four bytes
+		Path truncatedPath = directory.resolve("truncated" + CompressedTablebase.FILE_EXTENSION);
+		Files.write(truncatedPath, file.array());
+		
+		CompressedTablebase.open(truncatedPath).decompressBlock(numberOfBlocks - 1, new Inflater());
+	}
+	
+}